@@ -0,0 +1,142 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import com.checkout.checkout_zone.CheckoutZoneApplication;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.checkout.checkout_zone.repository.UserRepository;
+import com.checkout.checkout_zone.service.EquipmentService;
+import com.checkout.checkout_zone.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * The real application context on top of a throwaway embedded PostgreSQL.
+ *
+ * Each JMH fork starts its own database (real PostgreSQL binaries, so the
+ * conditional UPDATEs, sequences and native queries behave as in
+ * production) and a full Spring Boot context on a random port. Hibernate
+ * statistics are switched on so benchmarks can report how many JDBC
+ * statements an operation prepared. The load-test harness uses the same
+ * setup and talks to the application over HTTP on getPort().
+ */
+
+// Class definition
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final Path workDir;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private int sequence;
+
+    // Start the database and the application; extra "key=value" properties override the defaults
+    public BenchmarkApplication(String... properties) throws IOException {
+        this.workDir = Files.createTempDirectory("checkout-bench");
+        this.postgres = EmbeddedPostgres.builder().start();
+        this.context = new SpringApplicationBuilder(CheckoutZoneApplication.class)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=postgres",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "server.port=0",
+                        "checkout.security.token.key-file=" + workDir.resolve("token.key"),
+                        "logging.level.root=WARN"
+                )
+                // Passed as command line arguments so they win over the defaults above
+                .run(Arrays.stream(properties).map(p -> "--" + p).toArray(String[]::new));
+    }
+
+    // Port the embedded web server listens on
+    public int getPort() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Hibernate statistics of the application's session factory
+    public Statistics getStatistics() {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Create a user with a unique username
+    public User createUser(Role role) {
+        int n = ++sequence;
+        User user = new User();
+        user.setUsername("bench-" + runId + "-" + n);
+        user.setPassword("benchmark-password");
+        user.setEmail("bench-" + runId + "-" + n + "@example.com");
+        user.setFirstName("Bench");
+        user.setLastName("User " + n);
+        user.setDepartment("Benchmarks");
+        user.setRole(role);
+        return getBean(UserService.class).createUser(user);
+    }
+
+    // Create many users sharing one password (hashed once, saved in batches)
+    public List<User> createUsers(int count, Role role, String password) {
+        String hash = getBean(PasswordEncoder.class).encode(password);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = ++sequence;
+            User user = new User();
+            user.setUsername("bench-" + runId + "-" + n);
+            user.setPassword(hash);
+            user.setEmail("bench-" + runId + "-" + n + "@example.com");
+            user.setFirstName("Bench");
+            user.setLastName("User " + n);
+            user.setDepartment("Department " + (n % 10));
+            user.setRole(role);
+            user.setActive(true);
+            users.add(user);
+        }
+        return getBean(UserRepository.class).saveAll(users);
+    }
+
+    // Create "count" available items of one type
+    public List<Equipment> createEquipment(int count, String type) {
+        EquipmentService equipmentService = getBean(EquipmentService.class);
+        List<Equipment> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = ++sequence;
+            Equipment equipment = new Equipment();
+            equipment.setInternalId("BENCH-" + runId + "-" + n);
+            equipment.setName(type + " " + n);
+            equipment.setBrand("Bench");
+            equipment.setModel("B-" + n);
+            equipment.setType(type);
+            equipment.setCondition(EquipmentCondition.GOOD);
+            items.add(equipmentService.createEquipment(equipment));
+        }
+        return items;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+
+}
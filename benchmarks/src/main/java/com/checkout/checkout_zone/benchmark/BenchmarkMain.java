@@ -0,0 +1,44 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Entry point used by "mvn exec:exec".
+ *
+ * Takes the usual JMH command line (benchmark regex, -f, -wi, -t, ...),
+ * always writes JSON results to bench.result, and then runs
+ * RegressionCheck against bench.baseline. The exit code is non-zero when a
+ * benchmark regressed beyond bench.threshold, so CI can fail on it.
+ */
+
+// Class definition
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path result = Path.of(System.getProperty("bench.result", "target/jmh-result.json"));
+        Path baseline = Path.of(System.getProperty("bench.baseline", "baseline.json"));
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "0.10"));
+        boolean update = Boolean.getBoolean("bench.update-baseline");
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        System.exit(RegressionCheck.run(result, baseline, threshold, update));
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.CheckoutRequest;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.checkout.checkout_zone.service.CheckoutService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.ConcurrencyFailureException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Benchmark settings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+@Fork(1)
+
+/*
+ * Many managers fulfilling requests for the same few items at once.
+ *
+ * Each operation creates a request for one random item out of hotItems,
+ * approves it, fulfills it and, if the fulfillment won, returns it again.
+ * Losing is expected and counted ("conflicts"); the score is completed
+ * operations per second, "fulfilled" is the share that got the item.
+ *
+ * Double checkouts are detected on two levels. Every winning thread bumps
+ * a per-item holder count between its fulfill and return and re-reads the
+ * item; a count above one, or an item that is not CHECKED_OUT, means two
+ * threads held it at once. After the run the database must have no open
+ * checkout record left. Either failure fails the benchmark.
+ */
+
+// Class definition
+public class CheckoutContentionBenchmark {
+
+    @Param({"4"})
+    public int hotItems;
+
+    private BenchmarkApplication app;
+    private CheckoutService checkoutService;
+    private EquipmentRepository equipmentRepository;
+    private User borrower;
+    private User manager;
+    private List<Equipment> items;
+    private AtomicIntegerArray holders;
+    private final AtomicLong doubleCheckouts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        app = new BenchmarkApplication();
+        checkoutService = app.getBean(CheckoutService.class);
+        equipmentRepository = app.getBean(EquipmentRepository.class);
+        borrower = app.createUser(Role.USER);
+        manager = app.createUser(Role.EQUIPMENT_MANAGER);
+        items = app.createEquipment(hotItems, "Projector");
+        holders = new AtomicIntegerArray(hotItems);
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAndStop() throws IOException {
+        try {
+            int open = app.getBean(CheckoutRecordRepository.class).findByActualReturnDateIsNull().size();
+            if (doubleCheckouts.get() > 0 || open > 0) {
+                throw new IllegalStateException("Double checkout detected: " + doubleCheckouts.get()
+                        + " overlapping holds, " + open + " records left open");
+            }
+        } finally {
+            app.close();
+        }
+    }
+
+    // Outcome of each thread's operations
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcome {
+        public long fulfilled;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            fulfilled = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public void fulfillHotItem(Outcome outcome) {
+        int slot = ThreadLocalRandom.current().nextInt(hotItems);
+        List<CheckoutRecord> records;
+        try {
+            CheckoutRequest request = checkoutService.createCheckoutRequest(
+                    borrower, new HashSet<>(List.of(items.get(slot))), "Contention benchmark", LocalDate.now());
+            checkoutService.approveRequest(request.getId(), manager, null);
+            records = checkoutService.fulfillCheckoutRequest(request.getId(), manager, LocalDate.now());
+        } catch (IllegalArgumentException | ConcurrencyFailureException e) {
+            // Someone else has the item right now
+            outcome.conflicts++;
+            return;
+        }
+        // While we hold it, nobody else may, and the item must read as checked out
+        boolean overlap = holders.incrementAndGet(slot) > 1;
+        EquipmentStatus status = equipmentRepository.findById(items.get(slot).getId()).orElseThrow().getStatus();
+        if (overlap || status != EquipmentStatus.CHECKED_OUT) {
+            doubleCheckouts.incrementAndGet();
+        }
+        holders.decrementAndGet(slot);
+        checkoutService.returnEquipment(records.get(0).getId(), manager, EquipmentCondition.GOOD, null);
+        outcome.fulfilled++;
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.CheckoutRequest;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.checkout.checkout_zone.service.CheckoutService;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Benchmark settings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+
+/*
+ * Single-threaded cost of each CheckoutService workflow step.
+ *
+ * Every step runs against the same itemsPerRequest items. Its input (a
+ * pending, approved or fulfilled request) is prepared outside the measured
+ * call by a per-invocation setup, and a fulfilled checkout is returned
+ * again afterwards, so the items are available for the next invocation.
+ *
+ * Besides time per call, each benchmark reports "statements" and
+ * "operations" counters (JDBC statements prepared, per Hibernate
+ * statistics). statements / operations across the itemsPerRequest values
+ * shows whether a step's round trips grow with the number of items; for
+ * fulfill they should not.
+ */
+
+// Class definition
+public class CheckoutWorkflowBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int itemsPerRequest;
+
+    private BenchmarkApplication app;
+    private CheckoutService checkoutService;
+    private Statistics statistics;
+    private User borrower;
+    private User manager;
+    private List<Equipment> items;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        app = new BenchmarkApplication();
+        checkoutService = app.getBean(CheckoutService.class);
+        statistics = app.getStatistics();
+        borrower = app.createUser(Role.USER);
+        manager = app.createUser(Role.EQUIPMENT_MANAGER);
+        items = app.createEquipment(itemsPerRequest, "Laptop");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        app.close();
+    }
+
+    // JDBC statements prepared by the measured calls
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+    }
+
+    // A pending request for the items, created before each call
+    @State(Scope.Thread)
+    public static class PendingRequest {
+        CheckoutRequest request;
+
+        @Setup(Level.Invocation)
+        public void create(CheckoutWorkflowBenchmark bench) {
+            request = bench.create();
+        }
+    }
+
+    // An approved request; whatever the call checked out is returned afterwards
+    @State(Scope.Thread)
+    public static class ApprovedRequest {
+        CheckoutRequest request;
+        List<CheckoutRecord> records;
+
+        @Setup(Level.Invocation)
+        public void approve(CheckoutWorkflowBenchmark bench) {
+            request = bench.approve(bench.create());
+            records = null;
+        }
+
+        @TearDown(Level.Invocation)
+        public void returnItems(CheckoutWorkflowBenchmark bench) {
+            if (records != null) {
+                bench.returnAll(records);
+            }
+        }
+    }
+
+    // Open checkout records for the items, created before each call
+    @State(Scope.Thread)
+    public static class OpenCheckout {
+        List<CheckoutRecord> records;
+
+        @Setup(Level.Invocation)
+        public void fulfill(CheckoutWorkflowBenchmark bench) {
+            records = bench.fulfill(bench.approve(bench.create()));
+        }
+    }
+
+    @Benchmark
+    public CheckoutRequest createRequest(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        CheckoutRequest request = create();
+        count(counter, before);
+        return request;
+    }
+
+    @Benchmark
+    public CheckoutRequest approveRequest(PendingRequest pending, Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        CheckoutRequest approved = approve(pending.request);
+        count(counter, before);
+        return approved;
+    }
+
+    @Benchmark
+    public List<CheckoutRecord> fulfillRequest(ApprovedRequest approved, Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        approved.records = fulfill(approved.request);
+        count(counter, before);
+        return approved.records;
+    }
+
+    @Benchmark
+    public List<CheckoutRecord> returnEquipment(OpenCheckout checkout, Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        List<CheckoutRecord> returned = returnAll(checkout.records);
+        count(counter, before);
+        return returned;
+    }
+
+    // request -> approve -> fulfill -> return
+    @Benchmark
+    public List<CheckoutRecord> fullCycle(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        List<CheckoutRecord> returned = returnAll(fulfill(approve(create())));
+        count(counter, before);
+        return returned;
+    }
+
+    private CheckoutRequest create() {
+        Set<Equipment> equipment = new HashSet<>(items);
+        return checkoutService.createCheckoutRequest(borrower, equipment, "Benchmark", LocalDate.now().plusDays(1));
+    }
+
+    private CheckoutRequest approve(CheckoutRequest request) {
+        return checkoutService.approveRequest(request.getId(), manager, "Approved by benchmark");
+    }
+
+    private List<CheckoutRecord> fulfill(CheckoutRequest request) {
+        return checkoutService.fulfillCheckoutRequest(request.getId(), manager, LocalDate.now().plusDays(7));
+    }
+
+    private List<CheckoutRecord> returnAll(List<CheckoutRecord> records) {
+        List<Long> ids = records.stream().map(CheckoutRecord::getId).toList();
+        return checkoutService.returnEquipment(ids, manager, EquipmentCondition.GOOD, "Returned by benchmark");
+    }
+
+    private void count(Statements counter, long before) {
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.operations++;
+    }
+
+}
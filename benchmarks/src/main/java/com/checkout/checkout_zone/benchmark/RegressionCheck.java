@@ -0,0 +1,132 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Compares a JMH JSON result file with a stored baseline.
+ *
+ * Benchmarks are matched by name and parameters. A score counts as a
+ * regression when it is worse than the baseline by more than the threshold
+ * (0.10 = 10%). "Worse" is lower for throughput units (ops/s) and higher
+ * for time units (ms/op, us/op). Where a benchmark reports "statements" and
+ * "operations" counters, statements per operation must not grow by more
+ * than half a statement; unlike timings that number is deterministic, so
+ * an extra query per call is caught even on a noisy machine.
+ *
+ * Benchmarks missing from the baseline are listed but never fail the check.
+ * With update = true the results replace the baseline instead.
+ */
+
+// Class definition
+public final class RegressionCheck {
+
+    private static final double STATEMENT_TOLERANCE = 0.5;
+
+    private RegressionCheck() {
+    }
+
+    // Standalone use: RegressionCheck <result.json> <baseline.json> [threshold]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RegressionCheck <result.json> <baseline.json> [threshold]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        System.exit(run(Path.of(args[0]), Path.of(args[1]), threshold, false));
+    }
+
+    // Returns the process exit code: 0 if there is no regression, 1 otherwise
+    public static int run(Path result, Path baseline, double threshold, boolean update) throws IOException {
+        if (update) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline updated: " + baseline);
+            return 0;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; run with -Dbench.update-baseline=true to store one");
+            return 0;
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> current = byKey(mapper.readTree(result.toFile()));
+        Map<String, JsonNode> previous = byKey(mapper.readTree(baseline.toFile()));
+
+        List<String> regressions = new ArrayList<>();
+        System.out.printf("%-80s %14s %14s %8s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            String key = entry.getKey();
+            JsonNode now = entry.getValue();
+            JsonNode before = previous.get(key);
+            JsonNode metric = now.path("primaryMetric");
+            String unit = metric.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %8s  (new)%n", key, "-", metric.path("score").asDouble(), "");
+                continue;
+            }
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double score = metric.path("score").asDouble();
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore;
+            // For throughput a drop is a regression, for time per operation a rise is
+            double worse = isThroughput(unit) ? -change : change;
+            boolean regressed = worse > threshold;
+            System.out.printf("%-80s %14.3f %14.3f %+7.1f%%%s%n", key, baseScore, score, change * 100,
+                    regressed ? "  REGRESSION" : "");
+            if (regressed) {
+                regressions.add(key + ": " + unit + " " + baseScore + " -> " + score);
+            }
+
+            Double baseStatements = statementsPerOperation(before);
+            Double statements = statementsPerOperation(now);
+            if (baseStatements != null && statements != null && statements - baseStatements > STATEMENT_TOLERANCE) {
+                System.out.printf("%-80s %14.2f %14.2f %8s  STATEMENTS%n", key + " (statements/op)",
+                        baseStatements, statements, "");
+                regressions.add(key + ": statements/op " + baseStatements + " -> " + statements);
+            }
+        }
+
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions beyond " + Math.round(threshold * 100) + "%");
+            return 0;
+        }
+        System.out.println("Regressions:");
+        regressions.forEach(r -> System.out.println("  " + r));
+        return 1;
+    }
+
+    // "benchmark{param=value,...}" -> result entry
+    private static Map<String, JsonNode> byKey(JsonNode results) {
+        Map<String, JsonNode> entries = new LinkedHashMap<>();
+        for (JsonNode node : results) {
+            Map<String, String> params = new TreeMap<>();
+            node.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asText()));
+            String key = node.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            entries.put(key, node);
+        }
+        return entries;
+    }
+
+    private static boolean isThroughput(String unit) {
+        return unit.startsWith("ops/");
+    }
+
+    private static Double statementsPerOperation(JsonNode node) {
+        JsonNode secondary = node.path("secondaryMetrics");
+        double operations = secondary.path("operations").path("score").asDouble();
+        if (!secondary.has("statements") || operations <= 0) {
+            return null;
+        }
+        return secondary.path("statements").path("score").asDouble() / operations;
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.checkout.checkout_zone.benchmark;
+
+// Import statements
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.CheckoutRequest;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.RequestStatus;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Benchmark settings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+
+/*
+ * Jackson cost of the JSON the API returns for equipment and checkout records.
+ *
+ * The graphs are built in memory and shaped like the list endpoints'
+ * results: every record carries its borrower, item, managers and the
+ * originating request with its equipment items. The mapper is configured
+ * like Spring Boot's default one (ISO dates, not timestamps), so the
+ * numbers cover serialization only, not loading.
+ */
+
+// Class definition
+public class SerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Equipment> equipment;
+    private List<CheckoutRecord> records;
+
+    @Setup(Level.Trial)
+    public void buildGraphs() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        User manager = user(1, Role.EQUIPMENT_MANAGER);
+        equipment = new ArrayList<>(size);
+        records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            equipment.add(equipment(i));
+        }
+        for (int i = 0; i < size; i++) {
+            User borrower = user(100 + i, Role.USER);
+            Set<Equipment> kit = new LinkedHashSet<>();
+            for (int j = 0; j < 3; j++) {
+                kit.add(equipment.get((i + j) % size));
+            }
+            CheckoutRequest request = new CheckoutRequest();
+            request.setId((long) i);
+            request.setRequestedBy(borrower);
+            request.setApprovedBy(manager);
+            request.setEquipmentItems(kit);
+            request.setPurpose("Project work for the quarterly release " + i);
+            request.setRequestedDate(LocalDate.now().minusDays(3));
+            request.setNeededByDate(LocalDate.now());
+            request.setStatus(RequestStatus.COMPLETED);
+            request.setApprovalDate(LocalDateTime.now().minusDays(2));
+            request.setApprovalNotes("Approved");
+
+            CheckoutRecord record = new CheckoutRecord();
+            record.setId((long) i);
+            record.setUser(borrower);
+            record.setEquipment(equipment.get(i));
+            record.setCheckoutRequest(request);
+            record.setCheckoutDate(LocalDate.now().minusDays(1));
+            record.setExpectedReturnDate(LocalDate.now().plusDays(13));
+            record.setConditionAtCheckout(EquipmentCondition.GOOD);
+            record.setCheckedOutByManager(manager);
+            records.add(record);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEquipment() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(equipment);
+    }
+
+    @Benchmark
+    public byte[] serializeCheckoutRecords() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(records);
+    }
+
+    private static User user(long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuN3Y6O1wF0p0f5Yb3kG5eH1c2d3e4f5g");
+        user.setEmail("user" + id + "@example.com");
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setDepartment("Engineering");
+        user.setEmployeeId("E" + id);
+        user.setRole(role);
+        user.setActive(true);
+        return user;
+    }
+
+    private static Equipment equipment(long id) {
+        Equipment equipment = new Equipment();
+        equipment.setId(id);
+        equipment.setInternalId("EQ-" + id);
+        equipment.setSerialNumber("SN" + (100000 + id));
+        equipment.setName("Laptop " + id);
+        equipment.setModel("XPS 15");
+        equipment.setBrand("Dell");
+        equipment.setType("Laptop");
+        equipment.setCondition(EquipmentCondition.GOOD);
+        equipment.setStatus(EquipmentStatus.CHECKED_OUT);
+        equipment.setLocation("Building A, Room 101");
+        equipment.setAcquisitionDate(LocalDate.now().minusYears(1));
+        equipment.setPurchasePrice(new BigDecimal("1899.00"));
+        equipment.setCurrentValue(new BigDecimal("1200.00"));
+        equipment.setWarrantyExpiry(LocalDate.now().plusYears(2));
+        equipment.setNotes("Standard developer laptop with docking station");
+        equipment.setVersion(3L);
+        return equipment;
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/*
+ * Thin JSON-over-HTTP client shared by all simulated clients.
+ *
+ * Every call is timed from just before sending to the full body being
+ * read, and recorded under its endpoint template in EndpointStats, whether
+ * it succeeded or not. Callers run on their own (virtual) thread and block
+ * on the call, the way a browser tab waits for its fetch.
+ */
+
+// Class definition
+public final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final EndpointStats stats;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // Result of one call: status 0 means no response (connection error or timeout)
+    public record Response(int status, JsonNode body) {
+        public boolean isOk() {
+            return status / 100 == 2;
+        }
+    }
+
+    // Constructor
+    public ApiClient(String baseUrl, EndpointStats stats) {
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public Response get(String endpoint, String path, String token) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(), token);
+    }
+
+    public Response post(String endpoint, String path, Map<String, ?> body, String token) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json)), token);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder builder, String token) {
+        builder.timeout(TIMEOUT).header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            stats.record(endpoint, response.statusCode(), System.nanoTime() - start);
+            return new Response(response.statusCode(), parse(response.body()));
+        } catch (IOException e) {
+            stats.record(endpoint, 0, System.nanoTime() - start);
+            return new Response(0, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null);
+        }
+    }
+
+    // Error bodies are not always JSON; those come back as null
+    private JsonNode parse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Response times and status counts per endpoint, in HdrHistogram recorders.
+ *
+ * Endpoints are keyed by method and path template ("POST
+ * /api/checkout/requests/{id}/approve"), so all ids share one histogram.
+ * Values are recorded in microseconds. Recording is lock-free from any
+ * number of client threads; report() takes the histograms of the phase
+ * that just ended and starts a fresh one.
+ *
+ * Each report writes, under the output directory:
+ * - <phase>.hlog: every endpoint's histogram, tagged with the endpoint
+ *   (HistogramLogProcessor / HdrHistogram tools can read it);
+ * - <phase>/<endpoint>.hgrm: percentile distribution in milliseconds;
+ * - <phase>-summary.json: throughput, percentiles and status counts.
+ */
+
+// Class definition
+public final class EndpointStats {
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private long phaseStart = System.currentTimeMillis();
+
+    // Record one call; status is the HTTP status, or 0 if the call failed without a response
+    public void record(String endpoint, int status, long nanos) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.recorder.recordValue(Math.max(1, nanos / 1000));
+        if (status == 0) {
+            stats.failed.increment();
+        } else if (status == 304) {
+            stats.notModified.increment();
+        } else {
+            switch (status / 100) {
+                case 2 -> stats.ok.increment();
+                case 4 -> stats.clientError.increment();
+                default -> stats.serverError.increment();
+            }
+        }
+    }
+
+    // Print and write the results of the phase that just ended, then start a new phase
+    public List<Map<String, Object>> report(String phase, Path outputDir, Map<String, Object> run) throws IOException {
+        long start = phaseStart;
+        long end = System.currentTimeMillis();
+        phaseStart = end;
+        double seconds = Math.max(0.001, (end - start) / 1000.0);
+
+        Path histogramDir = outputDir.resolve(phase);
+        Files.createDirectories(histogramDir);
+        List<Map<String, Object>> rows = new ArrayList<>();
+        try (PrintStream hlog = new PrintStream(Files.newOutputStream(outputDir.resolve(phase + ".hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(hlog);
+            writer.outputComment("CheckoutZone load test, phase " + phase + ", values in microseconds");
+            writer.outputStartTime(start);
+            writer.setBaseTime(start);
+            writer.outputLegend();
+
+            System.out.printf("%n== %s (%.0fs) ==%n", phase, seconds);
+            System.out.printf("%-52s %8s %8s %9s %9s %9s %9s %9s %6s %6s%n", "Endpoint", "Count", "Req/s",
+                    "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "5xx/err");
+            for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+                String name = entry.getKey();
+                Endpoint stats = entry.getValue();
+                Histogram histogram = stats.recorder.getIntervalHistogram();
+                long clientErrors = stats.clientError.sumThenReset();
+                long serverErrors = stats.serverError.sumThenReset() + stats.failed.sumThenReset();
+                long ok = stats.ok.sumThenReset();
+                long notModified = stats.notModified.sumThenReset();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                histogram.setStartTimeStamp(start);
+                histogram.setEndTimeStamp(end);
+                histogram.setTag(slug(name));
+                writer.outputIntervalHistogram(histogram);
+                try (PrintStream hgrm = new PrintStream(Files.newOutputStream(histogramDir.resolve(slug(name) + ".hgrm")))) {
+                    histogram.outputPercentileDistribution(hgrm, 1000.0);
+                }
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("endpoint", name);
+                row.put("count", histogram.getTotalCount());
+                row.put("throughput", histogram.getTotalCount() / seconds);
+                row.put("meanMs", histogram.getMean() / 1000.0);
+                row.put("p50Ms", percentile(histogram, 50));
+                row.put("p90Ms", percentile(histogram, 90));
+                row.put("p99Ms", percentile(histogram, 99));
+                row.put("p999Ms", percentile(histogram, 99.9));
+                row.put("maxMs", histogram.getMaxValue() / 1000.0);
+                row.put("ok", ok);
+                row.put("notModified", notModified);
+                row.put("clientErrors", clientErrors);
+                row.put("serverErrors", serverErrors);
+                rows.add(row);
+                System.out.printf("%-52s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %6d %6d%n", name,
+                        histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                        percentile(histogram, 50), percentile(histogram, 90), percentile(histogram, 99),
+                        percentile(histogram, 99.9), histogram.getMaxValue() / 1000.0, clientErrors, serverErrors);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>(run);
+        summary.put("phase", phase);
+        summary.put("seconds", seconds);
+        summary.put("endpoints", rows);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDir.resolve(phase + "-summary.json").toFile(), summary);
+        return rows;
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // "GET /api/equipment/{id}" -> "GET_api_equipment_{id}" (usable as file name and log tag)
+    private static String slug(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9{}]+", "_");
+    }
+
+    private static final class Endpoint {
+        // Auto-resizing, 3 significant digits
+        final Recorder recorder = new Recorder(3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder clientError = new LongAdder();
+        final LongAdder serverError = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+
+}
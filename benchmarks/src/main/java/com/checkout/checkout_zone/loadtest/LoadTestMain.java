@@ -0,0 +1,105 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import com.checkout.checkout_zone.benchmark.BenchmarkApplication;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Offline load test of the REST API ("mvn exec:exec@loadtest").
+ *
+ * Starts the application on an embedded PostgreSQL, seeds users, managers
+ * and a catalog, then lets every simulated client loose on its own virtual
+ * thread against the real HTTP endpoints (login, catalog, search, request,
+ * approve, fulfill, reject, return, dashboard). Clients start spread over
+ * the first half of the warmup. Results of the warmup (including the login
+ * storm) and of the measured phase are reported separately; see
+ * EndpointStats for the output files.
+ *
+ * To compare thread models, run once with --virtual-threads=true and once
+ * with --virtual-threads=false and compare the two measurement-summary.json
+ * files.
+ */
+
+// Class definition
+public final class LoadTestMain {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final List<String> TYPES = List.of("Laptop", "Monitor", "Projector", "Keyboard", "Camera", "Docking station");
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<String> properties = new ArrayList<>();
+        properties.add("spring.threads.virtual.enabled=" + options.virtualThreads());
+        properties.addAll(options.appProperties());
+
+        try (BenchmarkApplication app = new BenchmarkApplication(properties.toArray(String[]::new))) {
+            System.out.printf("Seeding %d users, %d managers, %d items...%n",
+                    options.users(), options.managers(), options.items());
+            List<User> users = app.createUsers(options.users(), Role.USER, PASSWORD);
+            List<User> managers = app.createUsers(options.managers(), Role.EQUIPMENT_MANAGER, PASSWORD);
+            List<Long> equipmentIds = new ArrayList<>();
+            for (int i = 0; i < TYPES.size(); i++) {
+                int count = options.items() / TYPES.size() + (i < options.items() % TYPES.size() ? 1 : 0);
+                app.createEquipment(count, TYPES.get(i)).stream().map(Equipment::getId).forEach(equipmentIds::add);
+            }
+
+            Files.createDirectories(options.output());
+            EndpointStats stats = new EndpointStats();
+            ApiClient api = new ApiClient("http://localhost:" + app.getPort(), stats);
+            Map<String, Object> run = describe(options);
+            System.out.printf("Running %s warmup + %s measurement on %s threads%n",
+                    options.warmup(), options.duration(), options.virtualThreads() ? "virtual" : "platform");
+
+            long deadline = System.nanoTime() + options.warmup().plus(options.duration()).toNanos();
+            int total = users.size() + managers.size();
+            Duration rampUp = options.warmup().dividedBy(2);
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                int started = 0;
+                for (User manager : managers) {
+                    clients.submit(new SimulatedManager(api, manager.getId(), manager.getUsername(), PASSWORD,
+                            options.managerMix(), rampUp.multipliedBy(started++).dividedBy(total),
+                            options.think(), deadline));
+                }
+                for (User user : users) {
+                    clients.submit(new SimulatedUser(api, user.getId(), user.getUsername(), PASSWORD,
+                            options.userMix(), rampUp.multipliedBy(started++).dividedBy(total),
+                            options.think(), deadline, equipmentIds));
+                }
+                Thread.sleep(options.warmup());
+                stats.report("warmup", options.output(), run);
+                // Closing the executor waits for every client to reach the deadline
+            }
+            stats.report("measurement", options.output(), run);
+            System.out.println("\nHistograms and summaries written to " + options.output().toAbsolutePath());
+        }
+    }
+
+    // Run settings, repeated at the top of each summary file
+    private static Map<String, Object> describe(LoadTestOptions options) {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("threads", options.virtualThreads() ? "virtual" : "platform");
+        run.put("users", options.users());
+        run.put("managers", options.managers());
+        run.put("items", options.items());
+        run.put("think", options.think().toString());
+        run.put("userMix", options.userMix().toString());
+        run.put("managerMix", options.managerMix().toString());
+        run.put("appProperties", options.appProperties());
+        run.put("cpus", Runtime.getRuntime().availableProcessors());
+        return run;
+    }
+
+}
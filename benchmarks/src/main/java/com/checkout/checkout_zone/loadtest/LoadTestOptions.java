@@ -0,0 +1,80 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import org.springframework.boot.convert.DurationStyle;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Load test settings, from "--name=value" arguments.
+ *
+ * --users, --managers      simulated clients of each kind
+ * --items                  equipment items in the catalog
+ * --warmup, --duration     ramp-up phase and measured phase (10s, 2m, ...)
+ * --think                  mean pause between a client's actions (exponential)
+ * --user-mix, --manager-mix  action weights, e.g. "browse=40,search=20,request=20"
+ * --virtual-threads        true/false, sets spring.threads.virtual.enabled
+ * --output                 directory for the HdrHistogram and JSON results
+ * --app.<property>=value   passed to the application as-is
+ */
+
+// Class definition
+public record LoadTestOptions(
+        int users,
+        int managers,
+        int items,
+        Duration warmup,
+        Duration duration,
+        Duration think,
+        WorkloadMix userMix,
+        WorkloadMix managerMix,
+        boolean virtualThreads,
+        Path output,
+        List<String> appProperties) {
+
+    public static final String USER_ACTIONS = "browse=40,search=20,request=15,myRequests=15,myCheckouts=10";
+    public static final String MANAGER_ACTIONS = "review=50,returns=35,dashboard=15";
+    private static final Set<String> OPTIONS = Set.of("users", "managers", "items", "warmup", "duration",
+            "think", "user-mix", "manager-mix", "virtual-threads", "output");
+
+    // Parse the command line, falling back to the defaults for anything not given
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> appProperties = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("app.")) {
+                appProperties.add(name.substring(4) + "=" + value);
+            } else {
+                values.put(name, value);
+            }
+        }
+        List<String> unknown = values.keySet().stream().filter(name -> !OPTIONS.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + unknown);
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("managers", "20")),
+                Integer.parseInt(values.getOrDefault("items", "300")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "15s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(values.getOrDefault("think", "1s")),
+                WorkloadMix.parse(values.getOrDefault("user-mix", USER_ACTIONS)),
+                WorkloadMix.parse(values.getOrDefault("manager-mix", MANAGER_ACTIONS)),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "true")),
+                Path.of(values.getOrDefault("output", "target/loadtest")),
+                List.copyOf(appProperties)
+        );
+    }
+
+}
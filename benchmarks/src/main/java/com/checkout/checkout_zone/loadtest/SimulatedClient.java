@@ -0,0 +1,82 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * One logged-in person clicking through the app.
+ *
+ * Starts after a start delay (so clients ramp up over the warmup instead of
+ * all logging in at the same instant), logs in once and then repeats: pick
+ * an action from the mix, perform it, pause for an exponentially
+ * distributed think time. A 401 (expired token) triggers a new login.
+ * Runs until the deadline.
+ */
+
+// Class definition
+public abstract class SimulatedClient implements Runnable {
+
+    protected final ApiClient api;
+    protected final Long userId;
+    private final String username;
+    private final String password;
+    private final WorkloadMix mix;
+    private final Duration startDelay;
+    private final Duration think;
+    private final long deadlineNanos;
+    private String token;
+
+    // Constructor
+    protected SimulatedClient(ApiClient api, Long userId, String username, String password, WorkloadMix mix,
+                              Duration startDelay, Duration think, long deadlineNanos) {
+        this.api = api;
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.mix = mix;
+        this.startDelay = startDelay;
+        this.think = think;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    // Perform one action; returns the status of the last call it made
+    protected abstract int perform(String action, String token);
+
+    @Override
+    public void run() {
+        try {
+            Thread.sleep(startDelay);
+            while (System.nanoTime() < deadlineNanos) {
+                if (token == null && !login()) {
+                    pause();
+                    continue;
+                }
+                if (perform(mix.next(), token) == 401) {
+                    token = null;
+                }
+                pause();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean login() {
+        ApiClient.Response response = api.post("POST /api/auth/login", "/api/auth/login",
+                Map.of("username", username, "password", password), null);
+        if (response.isOk() && response.body() != null) {
+            token = response.body().path("accessToken").asText(null);
+        }
+        return token != null;
+    }
+
+    private void pause() throws InterruptedException {
+        double mean = think.toNanos();
+        long nanos = (long) (-mean * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+        long remaining = deadlineNanos - System.nanoTime();
+        Thread.sleep(Duration.ofNanos(Math.max(0, Math.min(nanos, remaining))));
+    }
+
+}
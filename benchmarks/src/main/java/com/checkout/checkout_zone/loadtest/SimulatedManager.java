@@ -0,0 +1,92 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * An equipment manager working the queue.
+ *
+ * review:    load pending requests and handle a few at random. Each is
+ *            approved and fulfilled; one that can no longer be approved
+ *            (an item went out meanwhile) is rejected instead, so the queue
+ *            does not grow without bound.
+ * returns:   load current checkouts and take a few back.
+ * dashboard: load the dashboard summary.
+ *
+ * Several managers pick from the same queue, so some calls lose the race
+ * and get 400; that is part of the workload.
+ */
+
+// Class definition
+public final class SimulatedManager extends SimulatedClient {
+
+    private static final int BATCH = 5;
+
+    // Constructor
+    public SimulatedManager(ApiClient api, Long userId, String username, String password, WorkloadMix mix,
+                            Duration startDelay, Duration think, long deadlineNanos) {
+        super(api, userId, username, password, mix, startDelay, think, deadlineNanos);
+    }
+
+    @Override
+    protected int perform(String action, String token) {
+        return switch (action) {
+            case "review" -> review(token);
+            case "returns" -> takeBack(token);
+            case "dashboard" -> api.get("GET /api/dashboard/summary", "/api/dashboard/summary", token).status();
+            default -> throw new IllegalArgumentException("Unknown manager action: " + action);
+        };
+    }
+
+    private int review(String token) {
+        ApiClient.Response pending = api.get("GET /api/checkout/requests/pending", "/api/checkout/requests/pending", token);
+        if (!pending.isOk()) {
+            return pending.status();
+        }
+        int status = pending.status();
+        for (Long id : pickIds(pending.body())) {
+            ApiClient.Response approved = api.post("POST /api/checkout/requests/{id}/approve",
+                    "/api/checkout/requests/" + id + "/approve", Map.of("notes", "Approved"), token);
+            status = approved.status();
+            if (approved.isOk()) {
+                status = api.post("POST /api/checkout/requests/{id}/fulfill",
+                        "/api/checkout/requests/" + id + "/fulfill",
+                        Map.of("expectedReturnDate", LocalDate.now().plusDays(7).toString()), token).status();
+            } else if (status == 400) {
+                status = api.post("POST /api/checkout/requests/{id}/reject",
+                        "/api/checkout/requests/" + id + "/reject", Map.of("notes", "Not available"), token).status();
+            }
+        }
+        return status;
+    }
+
+    private int takeBack(String token) {
+        ApiClient.Response current = api.get("GET /api/checkout/records/current", "/api/checkout/records/current", token);
+        if (!current.isOk()) {
+            return current.status();
+        }
+        int status = current.status();
+        for (Long id : pickIds(current.body())) {
+            status = api.post("POST /api/checkout/records/{id}/return", "/api/checkout/records/" + id + "/return",
+                    Map.of("condition", "GOOD", "notes", "Returned"), token).status();
+        }
+        return status;
+    }
+
+    // Up to BATCH random ids from a JSON array of objects
+    private static List<Long> pickIds(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        if (array != null) {
+            array.forEach(node -> ids.add(node.path("id").asLong()));
+        }
+        Collections.shuffle(ids);
+        return ids.subList(0, Math.min(BATCH, ids.size()));
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * A regular employee: browses and searches the catalog, requests items and
+ * checks on their own requests and checkouts.
+ *
+ * Actions: browse, search, request, myRequests, myCheckouts. A request names
+ * one to three random items; one that is already out is answered with 400,
+ * which is recorded like any other response.
+ */
+
+// Class definition
+public final class SimulatedUser extends SimulatedClient {
+
+    private static final List<String> SEARCH_TERMS = List.of(
+            "laptop", "lap", "monitor", "mon", "projector", "proj", "keyboard", "camera", "dock", "bench"
+    );
+
+    private final List<Long> equipmentIds;
+
+    // Constructor
+    public SimulatedUser(ApiClient api, Long userId, String username, String password, WorkloadMix mix,
+                         Duration startDelay, Duration think, long deadlineNanos, List<Long> equipmentIds) {
+        super(api, userId, username, password, mix, startDelay, think, deadlineNanos);
+        this.equipmentIds = equipmentIds;
+    }
+
+    @Override
+    protected int perform(String action, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (action) {
+            case "browse" -> api.get("GET /api/equipment/available", "/api/equipment/available", token).status();
+            case "search" -> {
+                String term = SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size()));
+                yield api.get("GET /api/equipment/search", "/api/equipment/search?q=" + term, token).status();
+            }
+            case "request" -> {
+                Set<Long> ids = new LinkedHashSet<>();
+                int count = 1 + random.nextInt(3);
+                while (ids.size() < count) {
+                    ids.add(equipmentIds.get(random.nextInt(equipmentIds.size())));
+                }
+                yield api.post("POST /api/checkout/request", "/api/checkout/request", Map.of(
+                        "equipmentIds", List.copyOf(ids),
+                        "purpose", "Load test",
+                        "neededByDate", LocalDate.now().plusDays(random.nextInt(1, 14)).toString()
+                ), token).status();
+            }
+            case "myRequests" -> api.get("GET /api/checkout/requests/user/{id}",
+                    "/api/checkout/requests/user/" + userId, token).status();
+            case "myCheckouts" -> api.get("GET /api/checkout/records/user/{id}/current",
+                    "/api/checkout/records/user/" + userId + "/current", token).status();
+            default -> throw new IllegalArgumentException("Unknown user action: " + action);
+        };
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.checkout.checkout_zone.loadtest;
+
+// Import statements
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Weighted choice between named actions, parsed from "name=weight,...".
+ *
+ * Weights are relative: "browse=3,request=1" picks browse three times as
+ * often as request. An action with weight 0 is never picked.
+ */
+
+// Class definition
+public final class WorkloadMix {
+
+    private final List<String> actions = new ArrayList<>();
+    private final List<Integer> cumulative = new ArrayList<>();
+    private int total;
+
+    private WorkloadMix() {
+    }
+
+    public static WorkloadMix parse(String spec) {
+        WorkloadMix mix = new WorkloadMix();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in mix, got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            mix.total += weight;
+            mix.actions.add(pair[0].trim());
+            mix.cumulative.add(mix.total);
+        }
+        if (mix.total == 0) {
+            throw new IllegalArgumentException("Mix has no positive weight: " + spec);
+        }
+        return mix;
+    }
+
+    // Pick the next action
+    public String next() {
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < actions.size(); i++) {
+            if (roll < cumulative.get(i)) {
+                return actions.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    public List<String> getActions() {
+        return List.copyOf(actions);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            out.append(i == 0 ? "" : ",").append(actions.get(i)).append('=').append(cumulative.get(i) - previous);
+            previous = cumulative.get(i);
+        }
+        return out.toString();
+    }
+
+}
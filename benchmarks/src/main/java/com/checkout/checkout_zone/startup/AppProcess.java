@@ -0,0 +1,113 @@
+package com.checkout.checkout_zone.startup;
+
+// Import statements
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The application in its own JVM, started the way it is deployed
+ * ("java [jvm options] -jar <jar> [--properties]").
+ *
+ * awaitFirstRequest() measures time to first request: from just before the
+ * process is launched until a catalog GET (which needs the web server,
+ * security, JPA and the database) first answers 200. close() sends SIGTERM
+ * and waits, so shutdown hooks run; the JDK writes the AOT cache of a
+ * training run at that point.
+ */
+
+// Class definition
+public final class AppProcess implements AutoCloseable {
+
+    private static final String FIRST_REQUEST = "/api/equipment/available";
+    private static final Duration POLL = Duration.ofMillis(10);
+
+    private final Process process;
+    private final long launchedNanos;
+    private final int port;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private AppProcess(Process process, long launchedNanos, int port) {
+        this.process = process;
+        this.launchedNanos = launchedNanos;
+        this.port = port;
+    }
+
+    // Launch the jar with the given JVM options and application properties; output goes to logFile
+    public static AppProcess start(Path jar, List<String> jvmOptions, List<String> properties, Path logFile)
+            throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        properties.forEach(p -> command.add("--" + p));
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(jar.toAbsolutePath().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        long launched = System.nanoTime();
+        return new AppProcess(builder.start(), launched, port);
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    // Poll until the first request succeeds; returns the time since launch
+    public Duration awaitFirstRequest(Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getBaseUrl() + FIRST_REQUEST))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        long deadline = launchedNanos + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Application exited with status " + process.exitValue() + " before serving a request");
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return Duration.ofNanos(System.nanoTime() - launchedNanos);
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL);
+        }
+        throw new IOException("No successful request within " + timeout);
+    }
+
+    // Graceful stop (SIGTERM), forced after the timeout; returns the exit status
+    public int stop(Duration timeout) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+        return process.exitValue();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (process.isAlive()) {
+            stop(Duration.ofSeconds(30));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.checkout.checkout_zone.startup;
+
+// Import statements
+import com.checkout.checkout_zone.CheckoutZoneApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Time-to-first-request of the fast-startup build ("mvn exec:exec@startup").
+ *
+ * Needs both jars from the root project: the normal executable jar and the
+ * extracted, AOT-processed one from "./mvnw -Pfast-startup package".
+ *
+ * 1. Training: the extracted app runs with Spring AOT and
+ *    -XX:AOTCacheOutput against an embedded PostgreSQL, goes through the
+ *    checkout workflow (TrainingWorkload) and is stopped; the JDK writes
+ *    checkout-zone.aot next to the extracted jar.
+ * 2. Measurement: each configuration is started "runs" times, round-robin,
+ *    against the same (already migrated) database, and timed until its
+ *    first successful request.
+ *
+ * Prints median/min/max per configuration and the change against the
+ * plain jar, and writes the samples to startup-summary.json.
+ */
+
+// Class definition
+public final class StartupMain {
+
+    private static final String ADMIN = "startup-admin";
+    private static final String PASSWORD = "startup-password";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    // One way of starting the application
+    private record Configuration(String name, Path jar, List<String> jvmOptions) {}
+
+    private StartupMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options = StartupOptions.parse(args);
+        if (Runtime.version().feature() < 25) {
+            throw new IllegalStateException("The JDK AOT cache needs Java 25 or later, running " + Runtime.version());
+        }
+        requireFile(options.jar(), "./mvnw package -DskipTests");
+        requireFile(options.app(), "./mvnw -Pfast-startup package -DskipTests");
+        Files.createDirectories(options.output());
+        Path cache = options.app().toAbsolutePath().resolveSibling("checkout-zone.aot");
+        Path workDir = Files.createTempDirectory("checkout-startup");
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            List<String> properties = List.of(
+                    "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=postgres",
+                    "spring.jpa.show-sql=false",
+                    "checkout.security.token.key-file=" + workDir.resolve("token.key")
+            );
+            train(options, cache, properties, postgres.getPostgresDatabase());
+
+            List<Configuration> configurations = List.of(
+                    new Configuration("jar", options.jar(), List.of()),
+                    new Configuration("extracted", options.app(), List.of()),
+                    new Configuration("spring-aot", options.app(), List.of("-Dspring.aot.enabled=true")),
+                    // AOTMode=on: refuse to start rather than silently ignore an unusable cache
+                    new Configuration("spring-aot+aot-cache", options.app(),
+                            List.of("-Dspring.aot.enabled=true", "-XX:AOTMode=on", "-XX:AOTCache=" + cache))
+            );
+            Map<String, List<Duration>> samples = new LinkedHashMap<>();
+            configurations.forEach(c -> samples.put(c.name(), new ArrayList<>()));
+            for (int run = 1; run <= options.runs(); run++) {
+                for (Configuration configuration : configurations) {
+                    Path log = options.output().resolve(configuration.name() + "-" + run + ".log");
+                    try (AppProcess app = AppProcess.start(configuration.jar(), configuration.jvmOptions(), properties, log)) {
+                        Duration ttfr = app.awaitFirstRequest(STARTUP_TIMEOUT);
+                        samples.get(configuration.name()).add(ttfr);
+                        System.out.printf("run %d  %-22s %6d ms%n", run, configuration.name(), ttfr.toMillis());
+                    }
+                }
+            }
+            report(options, samples);
+        }
+    }
+
+    // Run the checkout workflow on the extracted app and let the JDK write the AOT cache on exit
+    private static void train(StartupOptions options, Path cache, List<String> properties, DataSource database)
+            throws Exception {
+        Files.deleteIfExists(cache);
+        System.out.printf("Training run: %d checkout cycles%n", options.cycles());
+        try (AppProcess app = AppProcess.start(options.app(),
+                List.of("-Dspring.aot.enabled=true", "-XX:AOTCacheOutput=" + cache),
+                properties, options.output().resolve("training.log"))) {
+            app.awaitFirstRequest(STARTUP_TIMEOUT);
+            seedAdmin(database);
+            new TrainingWorkload(app.getBaseUrl(), ADMIN, PASSWORD).run(options.cycles());
+            // Writing the cache happens during exit and can take a while
+            app.stop(Duration.ofMinutes(5));
+        }
+        if (!Files.exists(cache)) {
+            throw new IllegalStateException("Training run did not write " + cache + ", see training.log");
+        }
+        System.out.printf("AOT cache: %s (%d MB)%n", cache, Files.size(cache) >> 20);
+    }
+
+    // The schema exists once the app has started; ids come from the same sequence Hibernate uses
+    private static void seedAdmin(DataSource database) throws Exception {
+        String hash = new CheckoutZoneApplication().passwordEncoder().encode(PASSWORD);
+        try (Connection connection = database.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO users (id, username, password, email, first_name, last_name, role, active, " +
+                             "created_at, updated_at) " +
+                             "VALUES (nextval('users_seq'), ?, ?, ?, 'Startup', 'Admin', 'ADMIN', true, now(), now())")) {
+            insert.setString(1, ADMIN);
+            insert.setString(2, hash);
+            insert.setString(3, ADMIN + "@example.com");
+            insert.executeUpdate();
+        }
+    }
+
+    private static void report(StartupOptions options, Map<String, List<Duration>> samples) throws Exception {
+        long baseline = median(samples.values().iterator().next());
+        Map<String, Object> results = new LinkedHashMap<>();
+        System.out.printf("%nTime to first request (%d runs each)%n", options.runs());
+        System.out.printf("%-22s %10s %10s %10s %10s%n", "configuration", "median ms", "min ms", "max ms", "vs jar");
+        samples.forEach((name, durations) -> {
+            List<Long> millis = durations.stream().map(Duration::toMillis).sorted().toList();
+            long median = median(durations);
+            double change = 100.0 * (median - baseline) / baseline;
+            System.out.printf("%-22s %10d %10d %10d %9.1f%%%n",
+                    name, median, millis.get(0), millis.get(millis.size() - 1), change);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("medianMs", median);
+            result.put("changeVsJarPercent", Math.round(change * 10) / 10.0);
+            result.put("samplesMs", millis);
+            results.put(name, result);
+        });
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("java", Runtime.version().toString());
+        summary.put("cpus", Runtime.getRuntime().availableProcessors());
+        summary.put("trainingCycles", options.cycles());
+        summary.put("results", results);
+        Path file = options.output().resolve("startup-summary.json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), summary);
+        System.out.println("\nLogs and summary written to " + options.output().toAbsolutePath());
+    }
+
+    private static long median(List<Duration> durations) {
+        List<Long> millis = durations.stream().map(Duration::toMillis).sorted().toList();
+        return millis.get(millis.size() / 2);
+    }
+
+    private static void requireFile(Path file, String build) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException(file.toAbsolutePath() + " not found; build it with: " + build);
+        }
+    }
+
+}
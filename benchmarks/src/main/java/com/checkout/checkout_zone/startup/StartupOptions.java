@@ -0,0 +1,49 @@
+package com.checkout.checkout_zone.startup;
+
+// Import statements
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Startup measurement settings, from "--name=value" arguments.
+ *
+ * --jar       the executable jar as normally deployed (the baseline)
+ * --app       the extracted, AOT-processed jar from "-Pfast-startup"
+ * --cycles    checkout workflow cycles in the training run
+ * --runs      measured starts per configuration
+ * --output    directory for the process logs and startup-summary.json
+ */
+
+// Class definition
+public record StartupOptions(Path jar, Path app, int cycles, int runs, Path output) {
+
+    private static final String JAR = "../target/checkout-zone-0.0.1-SNAPSHOT-exec.jar";
+    private static final String APP = "../target/fast-startup/checkout-zone-0.0.1-SNAPSHOT-exec.jar";
+    private static final Set<String> OPTIONS = Set.of("jar", "app", "cycles", "runs", "output");
+
+    // Parse the command line, falling back to the defaults for anything not given
+    public static StartupOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        List<String> unknown = values.keySet().stream().filter(name -> !OPTIONS.contains(name)).toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + unknown);
+        }
+        return new StartupOptions(
+                Path.of(values.getOrDefault("jar", JAR)),
+                Path.of(values.getOrDefault("app", APP)),
+                Integer.parseInt(values.getOrDefault("cycles", "200")),
+                Integer.parseInt(values.getOrDefault("runs", "5")),
+                Path.of(values.getOrDefault("output", "target/startup"))
+        );
+    }
+
+}
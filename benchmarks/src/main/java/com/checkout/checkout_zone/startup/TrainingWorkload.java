@@ -0,0 +1,97 @@
+package com.checkout.checkout_zone.startup;
+
+// Import statements
+import com.checkout.checkout_zone.loadtest.ApiClient;
+import com.checkout.checkout_zone.loadtest.EndpointStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * The checkout workflow the AOT cache is trained on.
+ *
+ * One cycle: an admin adds two items; a user browses, searches and requests
+ * them; the admin approves and fulfills the request; the user checks their
+ * requests and checkouts; the admin takes both items back and looks at the
+ * dashboard and the request list. Every call must succeed, so a training
+ * run that silently exercised error paths fails instead.
+ */
+
+// Class definition
+public final class TrainingWorkload {
+
+    private final ApiClient api;
+    private final String adminToken;
+    private final String userToken;
+    private final long userId;
+    private int sequence;
+
+    // Log in as the seeded admin and register a regular user
+    public TrainingWorkload(String baseUrl, String admin, String password) throws IOException {
+        this.api = new ApiClient(baseUrl, new EndpointStats());
+        this.adminToken = login(admin, password);
+        String username = "trainee" + System.nanoTime();
+        JsonNode user = expect(api.post("register", "/api/auth/register", Map.of(
+                "username", username, "password", password, "email", username + "@example.com",
+                "firstName", "Training", "lastName", "User", "role", "USER"), null));
+        this.userId = user.path("id").asLong();
+        this.userToken = login(username, password);
+    }
+
+    public void run(int cycles) throws IOException {
+        for (int i = 0; i < cycles; i++) {
+            cycle();
+        }
+    }
+
+    private void cycle() throws IOException {
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            int n = ++sequence;
+            items.add(expect(api.post("create equipment", "/api/equipment", Map.of(
+                    "internalId", "TRAIN-" + System.nanoTime() + "-" + n, "name", "Training laptop " + n,
+                    "brand", "Acme", "type", "Laptop", "condition", "GOOD", "status", "AVAILABLE"), adminToken))
+                    .path("id").asLong());
+        }
+
+        expect(api.get("available", "/api/equipment/available", userToken));
+        expect(api.get("search", "/api/equipment/search?q=laptop", userToken));
+        expect(api.get("catalog page", "/api/equipment?limit=20", userToken));
+        long requestId = expect(api.post("request", "/api/checkout/request", Map.of(
+                "equipmentIds", items, "purpose", "Training run",
+                "neededByDate", LocalDate.now().plusDays(2).toString()), userToken)).path("id").asLong();
+
+        expect(api.get("pending", "/api/checkout/requests/pending", adminToken));
+        expect(api.post("approve", "/api/checkout/requests/" + requestId + "/approve",
+                Map.of("notes", "Approved"), adminToken));
+        List<Long> records = new ArrayList<>();
+        expect(api.post("fulfill", "/api/checkout/requests/" + requestId + "/fulfill",
+                Map.of("expectedReturnDate", LocalDate.now().plusDays(7).toString()), adminToken))
+                .forEach(record -> records.add(record.path("id").asLong()));
+
+        expect(api.get("my requests", "/api/checkout/requests/user/" + userId, userToken));
+        expect(api.get("my checkouts", "/api/checkout/records/user/" + userId + "/current", userToken));
+
+        expect(api.get("current", "/api/checkout/records/current", adminToken));
+        expect(api.post("return", "/api/checkout/records/return",
+                Map.of("recordIds", records, "condition", "GOOD", "notes", "Returned"), adminToken));
+        expect(api.get("dashboard", "/api/dashboard/summary", adminToken));
+        expect(api.get("requests", "/api/checkout/requests?limit=20", adminToken));
+    }
+
+    private String login(String username, String password) throws IOException {
+        return expect(api.post("login", "/api/auth/login", Map.of("username", username, "password", password), null))
+                .path("accessToken").asText();
+    }
+
+    private static JsonNode expect(ApiClient.Response response) throws IOException {
+        if (!response.isOk() || response.body() == null) {
+            throw new IOException("Training call failed with status " + response.status());
+        }
+        return response.body();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import com.checkout.checkout_zone.service.CustomUserDetailsService;
+import com.checkout.checkout_zone.service.PrincipalCache;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// Annotations
+@Component
+
+/*
+ * DaoAuthenticationProvider that uses PrincipalCache for both the user
+ * lookup (as its UserCache) and the password check, so a repeated HTTP
+ * Basic request costs neither a database query nor a BCrypt verification.
+ */
+
+// Authentication provider class
+public class CachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final PrincipalCache principalCache;
+
+    // Constructor
+    public CachingAuthenticationProvider(CustomUserDetailsService userDetailsService,
+                                         PasswordEncoder passwordEncoder,
+                                         PrincipalCache principalCache) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        setUserCache(principalCache);
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        String rawPassword = authentication.getCredentials().toString();
+        if (principalCache.isVerified(userDetails.getUsername(), rawPassword, userDetails.getPassword())) {
+            return;
+        }
+        // Full BCrypt check, then remember it
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        principalCache.markVerified(userDetails.getUsername(), rawPassword, userDetails.getPassword());
+    }
+
+}
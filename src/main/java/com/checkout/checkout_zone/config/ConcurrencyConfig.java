@@ -0,0 +1,88 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableAsync;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Annotations
+@Configuration
+@EnableAsync
+
+/*
+ * Thread model and database backpressure.
+ *
+ * spring.threads.virtual.enabled=true runs Tomcat request handling and
+ * @Async work (the auto-configured applicationTaskExecutor) on virtual
+ * threads. Most request time is spent blocked on JDBC or BCrypt, so a
+ * blocked request then parks instead of holding one of 200 platform
+ * threads. Setting the property to false goes back to the platform-thread
+ * pool; nothing else changes.
+ *
+ * With no thread cap in front of it, the Hikari pool becomes the real limit.
+ * The pool DataSource is wrapped in a GatedDataSource whose permits equal
+ * spring.datasource.hikari.maximum-pool-size, so extra requests queue on
+ * the gate instead of timing out inside the pool. With read replicas
+ * configured (ReplicaRoutingConfig) every replica pool has its own gate.
+ */
+
+// Configuration class for threads and connection gating
+public class ConcurrencyConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    @ConditionalOnProperty(name = "checkout.datasource.gate.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof HikariDataSource pool ? gate(pool, environment) : bean;
+            }
+        };
+    }
+
+    // Wrap a pool in a gate with one permit per connection, unless the gate is disabled
+    // (also used for the pools behind ReplicaRoutingDataSource, which are not beans)
+    static DataSource gate(HikariDataSource pool, Environment environment) {
+        if (!environment.getProperty("checkout.datasource.gate.enabled", Boolean.class, true)) {
+            return pool;
+        }
+        Duration timeout = environment.getProperty("checkout.datasource.gate.timeout",
+                Duration.class, Duration.ofMillis(pool.getConnectionTimeout()));
+        return new GatedDataSource(pool, pool.getMaximumPoolSize(), timeout);
+    }
+
+    // Gate saturation: active permits near the pool size plus waiters means the pool is the bottleneck
+    // (one set per pool when reads are routed to replicas)
+    @Bean
+    public MeterBinder connectionGateMetrics(DataSource dataSource) {
+        Map<String, DataSource> pools = dataSource instanceof ReplicaRoutingDataSource routing
+                ? routing.getPools() : Map.of("primary", dataSource);
+        return registry -> pools.forEach((name, pool) -> {
+            if (pool instanceof GatedDataSource gate) {
+                Gauge.builder("checkout.db.gate.active", gate, GatedDataSource::getActiveCount)
+                        .description("Connections checked out through the gate")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("checkout.db.gate.waiting", gate, GatedDataSource::getWaitingCount)
+                        .description("Callers waiting for a connection permit")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("checkout.db.gate.permits", gate, GatedDataSource::getMaxPermits)
+                        .description("Connection permits (pool size)")
+                        .tag("pool", name)
+                        .register(registry);
+            }
+        });
+    }
+
+}
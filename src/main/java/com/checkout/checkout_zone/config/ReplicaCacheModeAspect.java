@@ -0,0 +1,55 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Annotations
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE)
+
+/*
+ * Keeps replica reads out of the Hibernate second-level cache
+ * (registered by ReplicaRoutingConfig).
+ *
+ * A replica can be up to max-lag behind, and an entity or query result it
+ * returns would otherwise be put in the shared cache and served to every
+ * user, including one who just wrote the newer version. Inside a
+ * transaction marked by ReplicaReadAspect the session uses CacheMode.GET:
+ * it still reads what the cache holds, but never adds to it. Runs inside
+ * the transaction interceptor (ReplicaRoutingConfig orders it first), so
+ * the transaction's session is already open.
+ */
+
+// Class definition
+public class ReplicaCacheModeAspect {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Around("@annotation(transactional) && within(com.checkout.checkout_zone.service..*)")
+    public Object readWithoutCaching(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!ReplicaRoutingDataSource.isReplicaRead() || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return joinPoint.proceed();
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
+}
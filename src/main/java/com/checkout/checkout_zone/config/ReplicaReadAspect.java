@@ -0,0 +1,42 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Annotations
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+
+/*
+ * Lets @Transactional(readOnly = true) methods in the service package read
+ * from a replica (registered by ReplicaRoutingConfig).
+ *
+ * Only a method that starts the transaction counts: one called inside a
+ * transaction that is already open joins it, and stays on its connection.
+ * Runs before the transaction interceptor so the mark is in place when
+ * the transaction takes its connection.
+ */
+
+// Class definition
+public class ReplicaReadAspect {
+
+    @Around("@annotation(transactional) && within(com.checkout.checkout_zone.service..*)")
+    public Object routeReadOnly(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        ReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.exitReplicaRead();
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Annotations
+@Configuration
+@ConditionalOnProperty(name = "checkout.datasource.replica.urls")
+// Transaction interceptor just outside ReplicaCacheModeAspect (same proxying as Boot's default)
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+
+/*
+ * Read replicas, only when checkout.datasource.replica.urls is set.
+ *
+ * Replaces the auto-configured pool with a ReplicaRoutingDataSource over a
+ * primary pool (spring.datasource.*) and one pool per replica URL. Every
+ * pool takes the spring.datasource.hikari settings and the primary's
+ * credentials; checkout.datasource.replica.pool-size, if set, sizes the
+ * replica pools. Each pool gets its own connection gate. Reads routed to
+ * a replica do not fill the second-level cache (ReplicaCacheModeAspect).
+ *
+ * To try it locally, point the replica URL at a second PostgreSQL (a
+ * streaming standby or a copy of the database), or at the primary's own
+ * URL as a stand-in: that one is not in recovery, so it reports no lag,
+ * and routing, stickiness and the metrics behave as with a real replica.
+ */
+
+// Configuration class for read-replica routing
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               @Value("${checkout.datasource.replica.urls}") String[] urls,
+                                               @Value("${checkout.datasource.replica.max-lag:2s}") Duration maxLag,
+                                               @Value("${checkout.datasource.replica.check-interval:1s}") Duration checkInterval) {
+        Binder binder = Binder.get(environment);
+        DataSource primary = ConcurrencyConfig.gate(pool(properties, binder, properties.determineUrl()), environment);
+        Integer replicaPoolSize = environment.getProperty("checkout.datasource.replica.pool-size", Integer.class);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = pool(properties, binder, url.trim());
+            pool.setPoolName(pool.getPoolName() == null ? name : pool.getPoolName() + "-" + name);
+            if (replicaPoolSize != null) {
+                pool.setMaximumPoolSize(replicaPoolSize);
+            }
+            replicas.put(name, ConcurrencyConfig.gate(pool, environment));
+        }
+        log.info("Read-only service transactions routed over {} replica(s), max lag {}", replicas.size(), maxLag);
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag, checkInterval);
+    }
+
+    @Bean
+    public ReplicaReadAspect replicaReadAspect() {
+        return new ReplicaReadAspect();
+    }
+
+    @Bean
+    public ReplicaCacheModeAspect replicaCacheModeAspect() {
+        return new ReplicaCacheModeAspect();
+    }
+
+    // Replica lag and where read-only transactions went; also Hikari metrics for the pools,
+    // which the auto-configuration cannot see behind the routing DataSource
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource dataSource) {
+        return registry -> {
+            for (DataSource pool : dataSource.getPools().values()) {
+                try {
+                    HikariDataSource hikari = pool.unwrap(HikariDataSource.class);
+                    if (hikari.getMetricRegistry() == null && hikari.getMetricsTrackerFactory() == null) {
+                        hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    }
+                } catch (SQLException | RuntimeException e) {
+                    log.warn("No pool metrics for a replica routing pool: {}", e.getMessage());
+                }
+            }
+            for (ReplicaRoutingDataSource.Replica replica : dataSource.getReplicas()) {
+                Gauge.builder("checkout.db.replica.lag", replica, r -> r.getLagMillis() < 0 ? Double.NaN : r.getLagMillis())
+                        .description("Replay lag of the replica (NaN while unreachable)")
+                        .baseUnit("milliseconds")
+                        .tag("replica", replica.getName())
+                        .register(registry);
+            }
+            FunctionCounter.builder("checkout.db.reads", dataSource, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Read-only service transactions by the database that served them")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("checkout.db.reads", dataSource, ReplicaRoutingDataSource::getPrimaryReads)
+                    .description("Read-only service transactions by the database that served them")
+                    .tag("target", "primary")
+                    .register(registry);
+        };
+    }
+
+    // A Hikari pool for one URL with the spring.datasource settings
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+
+}
@@ -0,0 +1,324 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * DataSource that sends read-only service transactions to read replicas.
+ *
+ * ReplicaReadAspect marks the thread while a @Transactional(readOnly = true)
+ * service method runs as the outermost transaction. A connection taken in
+ * that read-only transaction comes from the next usable replica in turn;
+ * everything else (writes, repository calls outside such a method, Flyway,
+ * startup) uses the primary. Connections are taken lazily, on the first
+ * statement, so the choice is made once the transaction is known to be
+ * read-only.
+ *
+ * Lag: every check-interval each replica reports how far its replay is
+ * behind (0 once it has applied all the WAL it received, or when it is not
+ * a standby at all). A replica more than max-lag behind, one that cannot
+ * be reached, or a standby whose WAL receiver is not streaming from the
+ * primary gets no reads until it catches up; with no usable replica,
+ * reads go to the primary.
+ *
+ * Read-your-writes: when a user's write transaction commits, that user's
+ * reads stay on the primary for max-lag plus one check interval. By then
+ * every replica still in rotation has replayed the write.
+ *
+ * Second-level cache: those transactions read the cache but never fill it
+ * (ReplicaCacheModeAspect), so a row read from a lagging replica is not
+ * handed to every other user from the cache.
+ */
+
+// Class definition
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Set by ReplicaReadAspect around a read-only service method
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    // Replay lag in ms: 0 when not a standby, or when caught up with the WAL received from a live stream;
+    // null before any replay or while not streaming (a disconnected standby has received nothing new,
+    // so "caught up with what it received" says nothing about how far behind the primary it is)
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS bigint) END";
+    private static final long UNKNOWN = -1;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final long stickyNanos;
+    // Username -> System.nanoTime() until which that user reads from the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // One replica and its last measured lag
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = UNKNOWN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Last measured lag in ms, or -1 if unreachable or not checked yet
+        public long getLagMillis() {
+            return lagMillis;
+        }
+    }
+
+    // Constructor (replicas by name, in the order they are tried)
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(e -> new Replica(e.getKey(), e.getValue())).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.checkIntervalMillis = Math.max(1, checkInterval.toMillis());
+        this.stickyNanos = maxLag.plus(checkInterval).toNanos();
+        setTargetDataSource(new Router());
+    }
+
+    // Measure the replicas once before taking traffic, then keep checking
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkLag();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        closePool(primary);
+        replicas.forEach(replica -> closePool(replica.dataSource));
+    }
+
+    // Let a read-only transaction started on this thread use a replica (see ReplicaReadAspect)
+    static void enterReplicaRead() {
+        REPLICA_READ.set(Boolean.TRUE);
+    }
+
+    static void exitReplicaRead() {
+        REPLICA_READ.remove();
+    }
+
+    // True inside a read-only service method that may read from a replica
+    static boolean isReplicaRead() {
+        return REPLICA_READ.get() != null;
+    }
+
+    // Every pool by name: "primary" first, then the replicas
+    public Map<String, DataSource> getPools() {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        pools.put("primary", primary);
+        replicas.forEach(replica -> pools.put(replica.name, replica.dataSource));
+        return pools;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // Read-only transactions served by a replica
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    // Read-only transactions kept on the primary (stickiness, or no usable replica)
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    // Pick the DataSource for a connection the current transaction is about to use
+    private Connection route(String username, String password) throws SQLException {
+        if (REPLICA_READ.get() == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return connect(primary, username, password);
+        }
+        String user = currentUser();
+        Replica replica = user != null && isSticky(user) ? null : pickReplica();
+        if (replica != null) {
+            try {
+                Connection connection = connect(replica.dataSource, username, password);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                // Out of rotation until the next check reaches it again
+                replica.lagMillis = UNKNOWN;
+                log.warn("Replica {} unavailable, reading from the primary: {}", replica.name, e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return connect(primary, username, password);
+    }
+
+    // A user's write transaction: keep that user's reads on the primary for a while after it commits
+    private void rememberWrite() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stickyUntil.put(user, System.nanoTime() + stickyNanos);
+                }
+            });
+        } else {
+            stickyUntil.put(user, System.nanoTime() + stickyNanos);
+        }
+    }
+
+    private boolean isSticky(String user) {
+        Long until = stickyUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(user, until);
+        return false;
+    }
+
+    // Next replica in turn that is reachable and within max-lag, or null
+    private Replica pickReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (isUsable(replica.lagMillis)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isUsable(long lagMillis) {
+        return lagMillis != UNKNOWN && lagMillis <= maxLagMillis;
+    }
+
+    private void checkLag() {
+        try {
+            long now = System.nanoTime();
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+            for (Replica replica : replicas) {
+                boolean wasUsable = isUsable(replica.lagMillis);
+                long lag = measureLag(replica);
+                replica.lagMillis = lag;
+                if (isUsable(lag) && !wasUsable) {
+                    log.info("Replica {} in rotation (lag {} ms)", replica.name, lag);
+                } else if (!isUsable(lag) && wasUsable) {
+                    log.warn("Replica {} out of rotation (lag {})", replica.name,
+                            lag == UNKNOWN ? "unknown" : lag + " ms");
+                }
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled task; keep checking
+            log.warn("Replica lag check failed", e);
+        }
+    }
+
+    private long measureLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMillis)));
+            try (ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                if (result.next()) {
+                    long lag = result.getLong(1);
+                    if (!result.wasNull()) {
+                        return Math.max(0, lag);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Lag check on replica {} failed: {}", replica.name, e.getMessage());
+        }
+        return UNKNOWN;
+    }
+
+    // Name of the authenticated user on this thread, or null
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    // Close the pool behind a (possibly gated) DataSource
+    private static void closePool(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(AutoCloseable.class)) {
+                dataSource.unwrap(AutoCloseable.class).close();
+            }
+        } catch (Exception e) {
+            log.warn("Could not close connection pool", e);
+        }
+    }
+
+    // Target of the lazy proxy: resolves each physical connection through route()
+    private final class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route(null, null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route(username, password);
+        }
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.checkout.checkout_zone.config;
 
 // Import statements
-import com.checkout.checkout_zone.service.CustomUserDetailsService;
+import com.checkout.checkout_zone.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 // Annotations
@@ -17,7 +19,10 @@ import org.springframework.security.web.SecurityFilterChain;
 /*
  * Security configuration for the application.
  * Defines access rules for various endpoints based on user roles.
- * Uses HTTP Basic authentication for simplicity.
+ * The SPA authenticates with signed bearer tokens issued at login (see
+ * TokenService); validating them needs no database query or password hash.
+ * HTTP Basic is still accepted for scripts and integrations, with verified
+ * principals cached by CachingAuthenticationProvider.
  * Disables CSRF protection for API endpoints for testing purposes.
  */
 
@@ -25,12 +30,21 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private CachingAuthenticationProvider authenticationProvider;
+    @Autowired
+    private TokenService tokenService;
+
+    // Bearer access token decoder (signature, expiry, token type and denylist checks)
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        return tokenService.getAccessTokenDecoder();
+    }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())  // Disable CSRF for API
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints - anyone can access
                         .requestMatchers("/", "/index.html", "/css/**", "/js/**").permitAll()
@@ -43,6 +57,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/api/equipment/**").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/equipment/**").hasRole("ADMIN")
 
+                        // Dashboard - aggregate counts, logged-in users only
+                        .requestMatchers(HttpMethod.GET, "/api/dashboard/**").authenticated()
+
                         // Users - only admins can manage users
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
 
@@ -53,13 +70,32 @@ public class SecurityConfig {
                         .requestMatchers("/api/checkout/requests/*/reject").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
                         .requestMatchers("/api/checkout/requests/*/fulfill").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
                         .requestMatchers("/api/checkout/records/*/return").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
+                        .requestMatchers("/api/checkout/records/return").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
+                        .requestMatchers("/api/checkout/records/overdue").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
                         .requestMatchers("/api/checkout/**").authenticated()
 
+                        // Reservations - any logged-in user can book and view the calendar
+                        .requestMatchers("/api/reservations/**").authenticated()
+
+                        // Exports - audit and finance pulls, managers/admins only
+                        .requestMatchers("/api/export/**").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
+
+                        // Reports - usage from the daily rollups; rebuilding them is an admin job
+                        .requestMatchers("/api/reports/utilization/rebuild").hasRole("ADMIN")
+                        .requestMatchers("/api/reports/**").hasAnyRole("EQUIPMENT_MANAGER", "ADMIN")
+
+                        // Actuator - health for load balancers, metrics and Prometheus scrapes for admins
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Everything else requires authentication
                         .anyRequest().authenticated()
                 )
-                .httpBasic(httpBasic -> {}) // Use HTTP Basic authentication for testing
-                .userDetailsService(userDetailsService); // Set custom user details service
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(tokenService::toAuthentication))
+                ) // Bearer access tokens issued by /api/auth/login
+                .httpBasic(httpBasic -> {}) // HTTP Basic for scripts and integrations
+                .authenticationProvider(authenticationProvider); // Cached user lookup and password check
 
         return http.build();
     }
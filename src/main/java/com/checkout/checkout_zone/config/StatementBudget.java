@@ -0,0 +1,36 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Annotations
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+
+/*
+ * Maximum number of SQL statements one call to a controller method may run
+ * (queries, inserts, updates, sequence fetches; a JDBC batch counts once).
+ *
+ * The budget should not depend on how many rows are involved: a list
+ * endpoint that needs one more query per row has an N+1 problem, not a
+ * larger budget. Handlers without the annotation get
+ * checkout.sql.budget.default. UNBOUNDED is for bulk endpoints whose work
+ * grows with the request body by design.
+ *
+ * Enforced by StatementCounter; see there for warn vs. fail.
+ */
+
+// Annotation definition
+public @interface StatementBudget {
+
+    int UNBOUNDED = -1;
+
+    // Statements allowed per request
+    int value();
+
+}
@@ -0,0 +1,59 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Annotations
+@Component
+
+/*
+ * Opens a StatementCounter scope around each controller method, with the
+ * budget from its @StatementBudget (or checkout.sql.budget.default).
+ *
+ * The statement count is left on the request as STATEMENTS_ATTRIBUTE, so
+ * tests can assert on it. Statements run by the security filters before
+ * the handler (the first HTTP Basic lookup of a user) are not counted.
+ */
+
+// Interceptor class for SQL statement budgets
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATEMENTS_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".statements";
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Value("${checkout.sql.budget.default:20}")
+    private int defaultBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+            statementCounter.begin(request.getMethod() + " " + request.getRequestURI(),
+                    budget != null ? budget.value() : defaultBudget);
+        }
+        return true;
+    }
+
+    // Streaming responses (/api/events) continue on other threads; the handler part is done
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StatementCounter.Scope scope = statementCounter.end();
+        if (scope != null) {
+            request.setAttribute(STATEMENTS_ATTRIBUTE, scope.getCount());
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Annotations
+@Component
+
+/*
+ * Per-request SQL statement counter and N+1 detector.
+ *
+ * Registered with Hibernate as its StatementInspector, so it sees every
+ * statement Hibernate prepares. StatementBudgetInterceptor opens a scope
+ * on the request thread before the controller method runs and closes it
+ * afterwards; statements outside a scope (startup, scheduled work) are not
+ * counted.
+ *
+ * When a request goes over its StatementBudget it is logged as a warning.
+ * With checkout.sql.budget.fail-on-exceed=true (used by the tests) the
+ * statement that goes over throws instead, so the request fails. Separately,
+ * any identical SQL string run repeat-threshold times or more in one request
+ * is logged as a likely N+1 query.
+ */
+
+// Class definition
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCounter.class);
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    @Value("${checkout.sql.budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+    @Value("${checkout.sql.budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.record(sql);
+            if (failOnExceed && scope.count == scope.budget + 1) {
+                throw new StatementBudgetExceededException(scope);
+            }
+        }
+        return sql;
+    }
+
+    // Start counting for the current thread
+    public void begin(String endpoint, int budget) {
+        current.set(new Scope(endpoint, budget));
+    }
+
+    // Stop counting, report anything suspicious and return the totals (null if no scope was open)
+    public Scope end() {
+        Scope scope = current.get();
+        if (scope == null) {
+            return null;
+        }
+        current.remove();
+        if (scope.isOverBudget()) {
+            log.warn("{} ran {} SQL statements, budget is {}", scope.endpoint, scope.count, scope.budget);
+        }
+        if (scope.budget != StatementBudget.UNBOUNDED) {
+            scope.statements.forEach((sql, times) -> {
+                if (times >= repeatThreshold) {
+                    log.warn("Possible N+1 in {}: same statement ran {} times: {}", scope.endpoint, times, sql);
+                }
+            });
+        }
+        return scope;
+    }
+
+    // Statements run by one request so far
+    public static final class Scope {
+
+        private final String endpoint;
+        private final int budget;
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+        private int count;
+
+        private Scope(String endpoint, int budget) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+        }
+
+        private void record(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        public boolean isOverBudget() {
+            return budget != StatementBudget.UNBOUNDED && count > budget;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+    }
+
+    // Thrown in fail-on-exceed mode by the first statement over budget
+    public static class StatementBudgetExceededException extends IllegalStateException {
+
+        public StatementBudgetExceededException(Scope scope) {
+            super(scope.endpoint + " exceeded its budget of " + scope.budget + " SQL statements");
+        }
+
+    }
+
+}
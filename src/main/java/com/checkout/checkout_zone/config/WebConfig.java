@@ -0,0 +1,42 @@
+package com.checkout.checkout_zone.config;
+
+// Import statements
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+// Annotations
+@Configuration
+
+/*
+ * MVC configuration.
+ *
+ * API responses are sent with "Cache-Control: no-cache, private" so the
+ * browser keeps a copy and revalidates it with If-None-Match on every use
+ * (see ResourceTagService), instead of Spring Security's default no-store,
+ * which would make conditional GETs impossible. Auth responses carry tokens
+ * and stay no-store.
+ *
+ * StatementBudgetInterceptor counts the SQL statements of every API call
+ * against the handler's @StatementBudget.
+ */
+
+// Web configuration class
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private StatementBudgetInterceptor statementBudgetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor cacheHeaders = new WebContentInterceptor();
+        cacheHeaders.addCacheMapping(CacheControl.noStore(), "/api/auth/**");
+        cacheHeaders.addCacheMapping(CacheControl.noCache().cachePrivate(), "/api/**");
+        registry.addInterceptor(cacheHeaders);
+        registry.addInterceptor(statementBudgetInterceptor).addPathPatterns("/api/**");
+    }
+
+}
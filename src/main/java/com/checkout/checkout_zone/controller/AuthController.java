@@ -2,10 +2,12 @@ package com.checkout.checkout_zone.controller;
 
 // Import statements
 import com.checkout.checkout_zone.entity.User;
+import com.checkout.checkout_zone.service.TokenService;
 import com.checkout.checkout_zone.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +22,8 @@ public class AuthController {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private TokenService tokenService;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
@@ -39,6 +43,8 @@ public class AuthController {
             response.put("firstName", user.getFirstName());
             response.put("lastName", user.getLastName());
             response.put("role", user.getRole());
+            // Signed tokens for subsequent requests (no password on every call)
+            response.putAll(tokenService.issueTokens(user));
             response.put("message", "Login successful");
 
             return ResponseEntity.ok(response);
@@ -49,6 +55,24 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest refreshRequest) {
+        try {
+            Long userId = tokenService.decodeRefreshToken(refreshRequest.refreshToken);
+            // Re-read the user so deactivated or deleted accounts cannot renew
+            Optional<User> userOpt = userService.getUserById(userId)
+                    .filter(user -> Boolean.TRUE.equals(user.getActive()));
+            if (userOpt.isPresent()) {
+                return ResponseEntity.ok(tokenService.issueTokens(userOpt.get()));
+            }
+        } catch (JwtException e) {
+            // Fall through to 401
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Invalid or expired refresh token");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody User user) {
         try {
@@ -75,4 +99,9 @@ public class AuthController {
         public String password;
     }
 
+    // Inner class for refresh request
+    public static class RefreshRequest {
+        public String refreshToken;
+    }
+
 }
@@ -1,14 +1,24 @@
 package com.checkout.checkout_zone.controller;
 
 // Import statements
+import com.checkout.checkout_zone.config.StatementBudget;
+import com.checkout.checkout_zone.dto.CursorPage;
 import com.checkout.checkout_zone.entity.*;
 import com.checkout.checkout_zone.service.CheckoutService;
+import com.checkout.checkout_zone.service.DeadlineScheduler;
 import com.checkout.checkout_zone.service.UserService;
 import com.checkout.checkout_zone.service.EquipmentService;
+import com.checkout.checkout_zone.service.RequestCoalescer;
+import com.checkout.checkout_zone.service.ResourceTagService;
+import com.checkout.checkout_zone.service.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
@@ -28,21 +38,30 @@ public class CheckoutController {
     private UserService userService;
     @Autowired
     private EquipmentService equipmentService;
+    @Autowired
+    private ResourceTagService resourceTagService;
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+    @Autowired
+    private RequestCoalescer requestCoalescer;
 
     // DTO classes for request bodies
 
     // Create checkout request
     @PostMapping("/request")
-    public ResponseEntity<CheckoutRequest> createCheckoutRequest(@RequestBody CheckoutRequestDTO dto) {
+    @StatementBudget(6)
+    public ResponseEntity<CheckoutRequest> createCheckoutRequest(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody CheckoutRequestDTO dto) {
         try {
-            User user = userService.getUserById(dto.userId)
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-            Set<Equipment> equipment = new HashSet<>();
-            for (Long equipmentId : dto.equipmentIds) {
-                Equipment eq = equipmentService.getEquipmentById(equipmentId)
-                        .orElseThrow(() -> new IllegalArgumentException("Equipment not found"));
-                equipment.add(eq);
+            // The requester is the authenticated user
+            User user = principal.getUser();
+
+            // All items in one query, not one lookup per id
+            Set<Long> equipmentIds = new HashSet<>(dto.equipmentIds);
+            Set<Equipment> equipment = new HashSet<>(equipmentService.getEquipmentByIds(equipmentIds));
+            if (equipment.size() != equipmentIds.size()) {
+                throw new IllegalArgumentException("Equipment not found");
             }
             CheckoutRequest request = checkoutService.createCheckoutRequest(
                     user, equipment, dto.purpose, dto.neededByDate
@@ -53,23 +72,50 @@ public class CheckoutController {
         }
     }
 
-    // Get all checkout requests
+    // Get checkout requests, newest first, one keyset page at a time, with optional filters
     @GetMapping("/requests")
-    public ResponseEntity<List<CheckoutRequest>> getAllCheckoutRequests() {
-        List<CheckoutRequest> requests = checkoutService.getAllCheckoutRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    @StatementBudget(3)
+    public ResponseEntity<CursorPage<CheckoutRequest>> getAllCheckoutRequests(
+            @RequestParam(required = false) List<RequestStatus> status,
+            @RequestParam(required = false) Long requesterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running the query below
+        if (webRequest.checkNotModified(resourceTagService.getCheckoutTag())) {
+            return null;
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<CheckoutRequest> rows = checkoutService.getCheckoutRequestPage(
+                status, requesterId, from, to, CursorPage.decodeCursor(cursor), pageSize
+        );
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, CheckoutRequest::getId), HttpStatus.OK);
     }
 
     // Get pending requests
+    // (polled by every manager at shift start: concurrent callers share one query and one serialized body)
     @GetMapping("/requests/pending")
-    public ResponseEntity<List<CheckoutRequest>> getPendingRequests() {
-        List<CheckoutRequest> requests = checkoutService.getPendingRequests();
-        return new ResponseEntity<>(requests, HttpStatus.OK);
+    @StatementBudget(3)
+    public ResponseEntity<byte[]> getPendingRequests(WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running the query or serializing
+        String tag = requestCoalescer.coalesce("requests-pending:tag", resourceTagService::getCheckoutTag);
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        // The body is shared per tag, so the ETag sent always matches the body
+        byte[] body = requestCoalescer.coalesceJson("requests-pending@" + tag, checkoutService::getPendingRequests);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // Get requests by user
     @GetMapping("/requests/user/{userId}")
-    public ResponseEntity<List<CheckoutRequest>> getRequestsByUser(@PathVariable Long userId) {
+    @StatementBudget(4)
+    public ResponseEntity<List<CheckoutRequest>> getRequestsByUser(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceTagService.getCheckoutTag())) {
+            return null;
+        }
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         List<CheckoutRequest> requests = checkoutService.getRequestsByUser(user);
@@ -78,12 +124,13 @@ public class CheckoutController {
 
     // Approve request
     @PostMapping("/requests/{requestId}/approve")
+    @StatementBudget(3)
     public ResponseEntity<CheckoutRequest> approveRequest(
             @PathVariable Long requestId,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody ApprovalDTO dto) {
         try {
-            User approver = userService.getUserById(dto.approverId)
-                    .orElseThrow(() -> new IllegalArgumentException("Approver not found"));
+            User approver = principal.getUser();
 
             CheckoutRequest approved = checkoutService.approveRequest(requestId, approver, dto.notes);
             return new ResponseEntity<>(approved, HttpStatus.OK);
@@ -94,12 +141,13 @@ public class CheckoutController {
 
     // Reject request
     @PostMapping("/requests/{requestId}/reject")
+    @StatementBudget(3)
     public ResponseEntity<CheckoutRequest> rejectRequest(
             @PathVariable Long requestId,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody ApprovalDTO dto) {
         try {
-            User approver = userService.getUserById(dto.approverId)
-                    .orElseThrow(() -> new IllegalArgumentException("Approver not found"));
+            User approver = principal.getUser();
 
             CheckoutRequest rejected = checkoutService.rejectRequest(requestId, approver, dto.notes);
             return new ResponseEntity<>(rejected, HttpStatus.OK);
@@ -110,12 +158,13 @@ public class CheckoutController {
 
     // Fulfill request (hand out equipment)
     @PostMapping("/requests/{requestId}/fulfill")
+    @StatementBudget(10)
     public ResponseEntity<List<CheckoutRecord>> fulfillRequest(
             @PathVariable Long requestId,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody FulfillmentDTO dto) {
         try {
-            User manager = userService.getUserById(dto.managerId)
-                    .orElseThrow(() -> new IllegalArgumentException("Manager not found"));
+            User manager = principal.getUser();
 
             List<CheckoutRecord> records = checkoutService.fulfillCheckoutRequest(
                     requestId, manager, dto.expectedReturnDate
@@ -128,12 +177,13 @@ public class CheckoutController {
 
     // Return equipment
     @PostMapping("/records/{recordId}/return")
+    @StatementBudget(7)
     public ResponseEntity<CheckoutRecord> returnEquipment(
             @PathVariable Long recordId,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestBody ReturnDTO dto) {
         try {
-            User manager = userService.getUserById(dto.managerId)
-                    .orElseThrow(() -> new IllegalArgumentException("Manager not found"));
+            User manager = principal.getUser();
 
             CheckoutRecord record = checkoutService.returnEquipment(
                     recordId, manager, dto.condition, dto.notes
@@ -144,16 +194,53 @@ public class CheckoutController {
         }
     }
 
+    // Return several items at once (e.g. a whole kit)
+    @PostMapping("/records/return")
+    @StatementBudget(7)
+    public ResponseEntity<List<CheckoutRecord>> returnEquipmentBatch(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody BatchReturnDTO dto) {
+        if (dto.recordIds == null || dto.recordIds.isEmpty()) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            User manager = principal.getUser();
+
+            List<CheckoutRecord> records = checkoutService.returnEquipment(
+                    dto.recordIds, manager, dto.condition, dto.notes
+            );
+            return new ResponseEntity<>(records, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Get currently checked out items
     @GetMapping("/records/current")
-    public ResponseEntity<List<CheckoutRecord>> getCurrentlyCheckedOut() {
+    @StatementBudget(3)
+    public ResponseEntity<List<CheckoutRecord>> getCurrentlyCheckedOut(WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceTagService.getCheckoutTag())) {
+            return null;
+        }
         List<CheckoutRecord> records = checkoutService.getCurrentlyCheckedOut();
         return new ResponseEntity<>(records, HttpStatus.OK);
     }
 
+    // Get checkouts past their expected return date, longest overdue first
+    // (served from the deadline scheduler's in-memory list, no SQL)
+    @GetMapping("/records/overdue")
+    @StatementBudget(0)
+    public ResponseEntity<List<DeadlineScheduler.OverdueRecord>> getOverdueRecords() {
+        return new ResponseEntity<>(deadlineScheduler.getOverdue(), HttpStatus.OK);
+    }
+
     // Get user's current checkouts
     @GetMapping("/records/user/{userId}/current")
-    public ResponseEntity<List<CheckoutRecord>> getUserCurrentCheckouts(@PathVariable Long userId) {
+    @StatementBudget(4)
+    public ResponseEntity<List<CheckoutRecord>> getUserCurrentCheckouts(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceTagService.getCheckoutTag())) {
+            return null;
+        }
         User user = userService.getUserById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         List<CheckoutRecord> records = checkoutService.getUserCurrentCheckouts(user);
@@ -161,25 +248,28 @@ public class CheckoutController {
     }
 
     // Inner DTO classes for request bodies
+    // (the acting user always comes from the authenticated principal, not the body)
     public static class CheckoutRequestDTO {
-        public Long userId;
         public List<Long> equipmentIds;
         public String purpose;
         public LocalDate neededByDate;
     }
 
     public static class ApprovalDTO {
-        public Long approverId;
         public String notes;
     }
 
     public static class FulfillmentDTO {
-        public Long managerId;
         public LocalDate expectedReturnDate;
     }
 
     public static class ReturnDTO {
-        public Long managerId;
+        public EquipmentCondition condition;
+        public String notes;
+    }
+
+    public static class BatchReturnDTO {
+        public List<Long> recordIds;
         public EquipmentCondition condition;
         public String notes;
     }
@@ -0,0 +1,29 @@
+package com.checkout.checkout_zone.controller;
+
+// Import statements
+import com.checkout.checkout_zone.dto.DashboardSummary;
+import com.checkout.checkout_zone.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// RestController annotation
+@RestController
+@RequestMapping("/api/dashboard")
+
+// Controller class for dashboard metrics
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Get aggregate counts for the dashboard
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return new ResponseEntity<>(dashboardService.getSummary(), HttpStatus.OK);
+    }
+
+}
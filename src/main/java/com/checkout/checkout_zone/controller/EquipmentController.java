@@ -1,13 +1,25 @@
 package com.checkout.checkout_zone.controller;
 
 // Import statements
+import com.checkout.checkout_zone.config.StatementBudget;
+import com.checkout.checkout_zone.dto.CursorPage;
+import com.checkout.checkout_zone.dto.ImportResult;
 import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.service.EquipmentImportService;
 import com.checkout.checkout_zone.service.EquipmentService;
+import com.checkout.checkout_zone.service.RequestCoalescer;
+import com.checkout.checkout_zone.service.ResourceTagService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 // RestController annotation
@@ -19,9 +31,16 @@ public class EquipmentController {
 
     @Autowired
     private EquipmentService equipmentService;
+    @Autowired
+    private EquipmentImportService equipmentImportService;
+    @Autowired
+    private ResourceTagService resourceTagService;
+    @Autowired
+    private RequestCoalescer requestCoalescer;
 
     // Create new equipment
     @PostMapping
+    @StatementBudget(5)
     public ResponseEntity<Equipment> createEquipment(@Valid @RequestBody Equipment equipment) {
         try {
             Equipment created = equipmentService.createEquipment(equipment);
@@ -31,38 +50,106 @@ public class EquipmentController {
         }
     }
 
-    // Get all equipment
+    // Bulk import equipment from a streamed CSV or NDJSON body
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @StatementBudget(StatementBudget.UNBOUNDED)
+    public ResponseEntity<ImportResult> importEquipment(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        ImportResult result = contentType.startsWith("text/csv")
+                ? equipmentImportService.importCsv(body)
+                : equipmentImportService.importNdjson(body);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // Get equipment, one keyset page at a time, with optional filters
     @GetMapping
-    public ResponseEntity<List<Equipment>> getAllEquipment() {
-        List<Equipment> equipment = equipmentService.getAllEquipment();
+    @StatementBudget(2)
+    public ResponseEntity<CursorPage<Equipment>> getAllEquipment(
+            @RequestParam(required = false) EquipmentStatus status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running the query below
+        if (webRequest.checkNotModified(resourceTagService.getCatalogTag())) {
+            return null;
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Equipment> rows = equipmentService.getEquipmentPage(
+                status, type, location, CursorPage.decodeCursor(cursor), pageSize
+        );
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, Equipment::getId), HttpStatus.OK);
+    }
+
+    // Ranked search and type-ahead over name, brand, model, type, notes and internal ID
+    @GetMapping("/search")
+    @StatementBudget(2)
+    public ResponseEntity<List<Equipment>> searchEquipment(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceTagService.getCatalogTag())) {
+            return null;
+        }
+        int k = limit == null ? EquipmentService.SEARCH_DEFAULT_LIMIT
+                : Math.max(1, Math.min(limit, EquipmentService.SEARCH_MAX_LIMIT));
+        List<Equipment> equipment = equipmentService.searchEquipment(query, k);
         return new ResponseEntity<>(equipment, HttpStatus.OK);
     }
 
     // Get equipment by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Equipment> getEquipmentById(@PathVariable Long id) {
+    @StatementBudget(2)
+    public ResponseEntity<Equipment> getEquipmentById(@PathVariable Long id, WebRequest webRequest) {
+        // Version-based ETag and updatedAt as Last-Modified, read without loading the entity
+        boolean notModified = resourceTagService.getEquipmentValidator(id)
+                .map(v -> webRequest.checkNotModified(v.etag(), v.lastModified()))
+                .orElse(false);
+        if (notModified) {
+            return null;
+        }
         return equipmentService.getEquipmentById(id)
                 .map(equipment -> new ResponseEntity<>(equipment, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     // Get available equipment
+    // (polled by every client at shift start: concurrent callers share one query and one serialized body)
     @GetMapping("/available")
-    public ResponseEntity<List<Equipment>> getAvailableEquipment() {
-        List<Equipment> equipment = equipmentService.getAvailableEquipment();
-        return new ResponseEntity<>(equipment, HttpStatus.OK);
+    @StatementBudget(2)
+    public ResponseEntity<byte[]> getAvailableEquipment(WebRequest webRequest) {
+        // Unchanged since the client's copy: 304 without running the query or serializing
+        String tag = requestCoalescer.coalesce("equipment-available:tag", resourceTagService::getCatalogTag);
+        if (webRequest.checkNotModified(tag)) {
+            return null;
+        }
+        // The body is shared per tag, so the ETag sent always matches the body
+        byte[] body = requestCoalescer.coalesceJson("equipment-available@" + tag, equipmentService::getAvailableEquipment);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // Get equipment by type
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Equipment>> getEquipmentByType(@PathVariable String type) {
+    @StatementBudget(2)
+    public ResponseEntity<List<Equipment>> getEquipmentByType(@PathVariable String type, WebRequest webRequest) {
+        if (webRequest.checkNotModified(resourceTagService.getCatalogTag())) {
+            return null;
+        }
         List<Equipment> equipment = equipmentService.getEquipmentByType(type);
         return new ResponseEntity<>(equipment, HttpStatus.OK);
     }
 
-    // Update equipment
+    // Update equipment's descriptive fields; status is ignored (see changeStatus below).
+    // The body must carry the "version" it was read at: a missing one is a 400 from
+    // GlobalExceptionHandler, a stale one a ConcurrencyFailureException and a 409.
     @PutMapping("/{id}")
+    @StatementBudget(4)
     public ResponseEntity<Equipment> updateEquipment(@PathVariable Long id, @Valid @RequestBody Equipment equipment) {
+        if (equipment.getVersion() == null) {
+            throw new IllegalArgumentException("version is required: send the version the equipment was read at");
+        }
         try {
             Equipment updated = equipmentService.updateEquipment(id, equipment);
             return new ResponseEntity<>(updated, HttpStatus.OK);
@@ -71,8 +158,22 @@ public class EquipmentController {
         }
     }
 
+    // Put an item into or out of maintenance, or retire it
+    // (a checkout or return that got there first is a 409 from GlobalExceptionHandler)
+    @PutMapping("/{id}/status")
+    @StatementBudget(4)
+    public ResponseEntity<Equipment> changeStatus(@PathVariable Long id, @RequestBody StatusDTO dto) {
+        try {
+            Equipment updated = equipmentService.changeStatus(id, dto.status);
+            return new ResponseEntity<>(updated, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Delete equipment
     @DeleteMapping("/{id}")
+    @StatementBudget(4)
     public ResponseEntity<Void> deleteEquipment(@PathVariable Long id) {
         try {
             equipmentService.deleteEquipment(id);
@@ -82,4 +183,9 @@ public class EquipmentController {
         }
     }
 
+    // Inner DTO class for the status change body
+    public static class StatusDTO {
+        public EquipmentStatus status;
+    }
+
 }
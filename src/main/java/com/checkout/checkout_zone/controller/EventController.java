@@ -0,0 +1,37 @@
+package com.checkout.checkout_zone.controller;
+
+// Import statements
+import com.checkout.checkout_zone.service.EventStreamService;
+import com.checkout.checkout_zone.service.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// RestController annotation
+@RestController
+@RequestMapping("/api/events")
+
+// Controller class for the live event stream
+public class EventController {
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    // Server-Sent Events stream of request, checkout and equipment changes.
+    // Resume point comes from the Last-Event-ID header (or ?lastEventId= for clients that cannot set headers).
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        return eventStreamService.subscribe(principal, lastEventId);
+    }
+
+}
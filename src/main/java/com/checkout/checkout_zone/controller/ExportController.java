@@ -0,0 +1,59 @@
+package com.checkout.checkout_zone.controller;
+
+// Import statements
+import com.checkout.checkout_zone.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// RestController annotation
+@RestController
+@RequestMapping("/api/export")
+
+// Controller class for streaming CSV / NDJSON exports
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private ExportService exportService;
+
+    // Export all checkout records (?format=csv|ndjson)
+    @GetMapping("/checkout-records")
+    public ResponseEntity<StreamingResponseBody> exportCheckoutRecords(
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean csv = isCsv(format);
+        return streaming("checkout-records", csv, output -> exportService.exportCheckoutRecords(csv, output));
+    }
+
+    // Export the whole inventory (?format=csv|ndjson)
+    @GetMapping("/equipment")
+    public ResponseEntity<StreamingResponseBody> exportEquipment(
+            @RequestParam(defaultValue = "csv") String format) {
+        boolean csv = isCsv(format);
+        return streaming("equipment", csv, output -> exportService.exportEquipment(csv, output));
+    }
+
+    private boolean isCsv(String format) {
+        if (!"csv".equalsIgnoreCase(format) && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        return "csv".equalsIgnoreCase(format);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(String name, boolean csv, StreamingResponseBody body) {
+        String filename = name + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.checkout.checkout_zone.controller;
 
 // Import statements
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -39,4 +43,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
-}
+    // Handle lost concurrent updates (stale version, or retries exhausted)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrencyFailureException(
+            ConcurrencyFailureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "This record was changed by someone else, please reload and try again");
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // Handle requests that could not get a database connection in time (saturated pool)
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<Map<String, String>> handleConnectionUnavailable(Exception ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The server is busy, please try again shortly");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.checkout.checkout_zone.controller;
+
+// Import statements
+import com.checkout.checkout_zone.config.StatementBudget;
+import com.checkout.checkout_zone.dto.UtilizationReport;
+import com.checkout.checkout_zone.entity.RollupDimension;
+import com.checkout.checkout_zone.service.UsageRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.time.LocalDate;
+
+// RestController annotation
+@RestController
+@RequestMapping("/api/reports")
+
+// Controller class for usage reports
+public class ReportController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    @Autowired
+    private UsageRollupService usageRollupService;
+
+    // Utilization, checkout counts and average loan length per item, type or department
+    // (defaults to the last 30 days; key narrows the report to one item id, type or department)
+    @GetMapping("/utilization")
+    @StatementBudget(2)
+    public ResponseEntity<UtilizationReport> getUtilization(
+            @RequestParam(defaultValue = "TYPE") RollupDimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+            return new ResponseEntity<>(usageRollupService.getUtilization(dimension, key, start, end), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Rebuild the usage rollups from the checkout history (409 while another rebuild is running)
+    @PostMapping("/utilization/rebuild")
+    @StatementBudget(StatementBudget.UNBOUNDED)
+    public ResponseEntity<UsageRollupService.BackfillResult> rebuild() {
+        try {
+            return new ResponseEntity<>(usageRollupService.backfill(), HttpStatus.OK);
+        } catch (CannotAcquireLockException e) {
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.checkout.checkout_zone.controller;
+
+// Import statements
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.Reservation;
+import com.checkout.checkout_zone.service.ReservationIndex;
+import com.checkout.checkout_zone.service.ReservationService;
+import com.checkout.checkout_zone.service.UserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+
+// RestController annotation
+@RestController
+@RequestMapping("/api/reservations")
+
+// Controller class for date-ranged reservations
+public class ReservationController {
+
+    // Autowired services
+    @Autowired
+    private ReservationService reservationService;
+
+    // Reserve an item for a date range
+    @PostMapping
+    public ResponseEntity<Reservation> createReservation(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestBody ReservationDTO dto) {
+        try {
+            Reservation reservation = reservationService.createReservation(
+                    principal.getUser(), dto.equipmentId, dto.startDate, dto.endDate, dto.purpose
+            );
+            return new ResponseEntity<>(reservation, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Cancel a reservation
+    @PostMapping("/{reservationId}/cancel")
+    public ResponseEntity<Reservation> cancelReservation(
+            @PathVariable Long reservationId,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        try {
+            Reservation reservation = reservationService.cancelReservation(reservationId, principal.getUser());
+            return new ResponseEntity<>(reservation, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Current user's upcoming reservations
+    @GetMapping("/my")
+    public ResponseEntity<List<Reservation>> getMyReservations(@AuthenticationPrincipal UserPrincipal principal) {
+        List<Reservation> reservations = reservationService.getUpcomingReservations(principal.getUser());
+        return new ResponseEntity<>(reservations, HttpStatus.OK);
+    }
+
+    // Items of a type that are free for the whole range, e.g. ?type=Laptop&from=2026-11-02&to=2026-11-06
+    @GetMapping("/available")
+    public ResponseEntity<List<Equipment>> getFreeEquipment(
+            @RequestParam String type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<Equipment> equipment = reservationService.findFreeEquipment(type, from, to);
+            return new ResponseEntity<>(equipment, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Calendar view: reservations and open checkouts on one item in a range
+    @GetMapping("/equipment/{equipmentId}")
+    public ResponseEntity<List<ReservationIndex.Booking>> getBookings(
+            @PathVariable Long equipmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<ReservationIndex.Booking> bookings = reservationService.getBookings(equipmentId, from, to);
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // DTO classes for request bodies
+    public static class ReservationDTO {
+        public Long equipmentId;
+        public LocalDate startDate;
+        public LocalDate endDate;
+        public String purpose;
+    }
+
+}
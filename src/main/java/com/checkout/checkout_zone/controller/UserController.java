@@ -1,6 +1,9 @@
 package com.checkout.checkout_zone.controller;
 
 // Import statements
+import com.checkout.checkout_zone.config.StatementBudget;
+import com.checkout.checkout_zone.dto.CursorPage;
+import com.checkout.checkout_zone.entity.Role;
 import com.checkout.checkout_zone.entity.User;
 import com.checkout.checkout_zone.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +25,7 @@ public class UserController {
 
     // Create new user
     @PostMapping
+    @StatementBudget(5)
     public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
         try {
             User created = userService.createUser(user);
@@ -31,15 +35,25 @@ public class UserController {
         }
     }
 
-    // Get all users
+    // Get users, one keyset page at a time, with optional filters
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+    @StatementBudget(1)
+    public ResponseEntity<CursorPage<User>> getAllUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<User> rows = userService.getUserPage(
+                role, department, active, CursorPage.decodeCursor(cursor), pageSize
+        );
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, User::getId), HttpStatus.OK);
     }
 
     // Get user by ID
     @GetMapping("/{id}")
+    @StatementBudget(1)
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
                 .map(user -> new ResponseEntity<>(user, HttpStatus.OK))
@@ -48,6 +62,7 @@ public class UserController {
 
     // Get user by username
     @GetMapping("/username/{username}")
+    @StatementBudget(1)
     public ResponseEntity<User> getUserByUsername(@PathVariable String username) {
         return userService.getUserByUsername(username)
                 .map(user -> new ResponseEntity<>(user, HttpStatus.OK))
@@ -56,6 +71,7 @@ public class UserController {
 
     // Update user
     @PutMapping("/{id}")
+    @StatementBudget(4)
     public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
         try {
             User updated = userService.updateUser(id, user);
@@ -67,6 +83,7 @@ public class UserController {
 
     // Deactivate user
     @PatchMapping("/{id}/deactivate")
+    @StatementBudget(4)
     public ResponseEntity<Void> deactivateUser(@PathVariable Long id) {
         try {
             userService.deactivateUser(id);
@@ -78,6 +95,7 @@ public class UserController {
 
     // Delete user
     @DeleteMapping("/{id}")
+    @StatementBudget(3)
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         try {
             userService.deleteUser(id);
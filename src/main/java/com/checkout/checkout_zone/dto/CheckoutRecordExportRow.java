@@ -0,0 +1,129 @@
+package com.checkout.checkout_zone.dto;
+
+// Import statements
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import java.time.LocalDate;
+
+/*
+ * Flat, read-only view of one checkout record for exports.
+ *
+ * Built directly by a JPQL constructor expression, so streaming it does
+ * not load or keep any entities in the persistence context.
+ */
+
+// Class definition
+public class CheckoutRecordExportRow {
+
+    private final Long id;
+    private final Long checkoutRequestId;
+    private final Long userId;
+    private final String username;
+    private final String department;
+    private final Long equipmentId;
+    private final String equipmentInternalId;
+    private final String equipmentName;
+    private final String equipmentType;
+    private final LocalDate checkoutDate;
+    private final LocalDate expectedReturnDate;
+    private final LocalDate actualReturnDate;
+    private final EquipmentCondition conditionAtCheckout;
+    private final EquipmentCondition conditionAtReturn;
+    private final String checkedOutBy;
+    private final String receivedBy;
+    private final String returnNotes;
+
+    // Constructor (argument order must match the export query)
+    public CheckoutRecordExportRow(Long id, Long checkoutRequestId, Long userId, String username, String department,
+                                   Long equipmentId, String equipmentInternalId, String equipmentName, String equipmentType,
+                                   LocalDate checkoutDate, LocalDate expectedReturnDate, LocalDate actualReturnDate,
+                                   EquipmentCondition conditionAtCheckout, EquipmentCondition conditionAtReturn,
+                                   String checkedOutBy, String receivedBy, String returnNotes) {
+        this.id = id;
+        this.checkoutRequestId = checkoutRequestId;
+        this.userId = userId;
+        this.username = username;
+        this.department = department;
+        this.equipmentId = equipmentId;
+        this.equipmentInternalId = equipmentInternalId;
+        this.equipmentName = equipmentName;
+        this.equipmentType = equipmentType;
+        this.checkoutDate = checkoutDate;
+        this.expectedReturnDate = expectedReturnDate;
+        this.actualReturnDate = actualReturnDate;
+        this.conditionAtCheckout = conditionAtCheckout;
+        this.conditionAtReturn = conditionAtReturn;
+        this.checkedOutBy = checkedOutBy;
+        this.receivedBy = receivedBy;
+        this.returnNotes = returnNotes;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCheckoutRequestId() {
+        return checkoutRequestId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Long getEquipmentId() {
+        return equipmentId;
+    }
+
+    public String getEquipmentInternalId() {
+        return equipmentInternalId;
+    }
+
+    public String getEquipmentName() {
+        return equipmentName;
+    }
+
+    public String getEquipmentType() {
+        return equipmentType;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    public LocalDate getExpectedReturnDate() {
+        return expectedReturnDate;
+    }
+
+    public LocalDate getActualReturnDate() {
+        return actualReturnDate;
+    }
+
+    public EquipmentCondition getConditionAtCheckout() {
+        return conditionAtCheckout;
+    }
+
+    public EquipmentCondition getConditionAtReturn() {
+        return conditionAtReturn;
+    }
+
+    public String getCheckedOutBy() {
+        return checkedOutBy;
+    }
+
+    public String getReceivedBy() {
+        return receivedBy;
+    }
+
+    public String getReturnNotes() {
+        return returnNotes;
+    }
+
+}
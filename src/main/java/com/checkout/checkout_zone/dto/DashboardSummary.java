@@ -0,0 +1,60 @@
+package com.checkout.checkout_zone.dto;
+
+// Import statements
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.RequestStatus;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/*
+ * Dashboard counts computed with GROUP BY queries.
+ *
+ * Every EquipmentStatus and RequestStatus is always present (0 when there
+ * are no rows), so the client can read the numbers it needs directly.
+ * Equipment without a location is counted under "Unassigned".
+ */
+
+// Class definition
+public class DashboardSummary {
+
+    private final Map<EquipmentStatus, Long> equipmentByStatus;
+    private final Map<RequestStatus, Long> requestsByStatus;
+    private final Map<String, Long> equipmentByType;
+    private final Map<String, Long> equipmentByLocation;
+    private final LocalDateTime generatedAt;
+
+    // Constructor
+    public DashboardSummary(Map<EquipmentStatus, Long> equipmentByStatus,
+                            Map<RequestStatus, Long> requestsByStatus,
+                            Map<String, Long> equipmentByType,
+                            Map<String, Long> equipmentByLocation,
+                            LocalDateTime generatedAt) {
+        this.equipmentByStatus = equipmentByStatus;
+        this.requestsByStatus = requestsByStatus;
+        this.equipmentByType = equipmentByType;
+        this.equipmentByLocation = equipmentByLocation;
+        this.generatedAt = generatedAt;
+    }
+
+    // Getters
+    public Map<EquipmentStatus, Long> getEquipmentByStatus() {
+        return equipmentByStatus;
+    }
+
+    public Map<RequestStatus, Long> getRequestsByStatus() {
+        return requestsByStatus;
+    }
+
+    public Map<String, Long> getEquipmentByType() {
+        return equipmentByType;
+    }
+
+    public Map<String, Long> getEquipmentByLocation() {
+        return equipmentByLocation;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+}
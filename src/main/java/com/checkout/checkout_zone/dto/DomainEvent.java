@@ -0,0 +1,75 @@
+package com.checkout.checkout_zone.dto;
+
+// Import statements
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/*
+ * A committed state change, pushed to clients over /api/events.
+ *
+ * Published by CheckoutService and EquipmentService inside their
+ * transactions and only delivered after commit; deadline events come from
+ * DeadlineScheduler outside any transaction and go out right away.
+ * "userId" is the user the change belongs to (requester or borrower); it
+ * is null for catalog changes, which everyone may see. "data" carries the small delta a client
+ * needs to patch its view (new status, related ids, ...).
+ */
+
+// Class definition
+public class DomainEvent {
+
+    // What happened
+    public enum Type {
+        REQUEST_CREATED,
+        REQUEST_APPROVED,
+        REQUEST_REJECTED,
+        REQUEST_FULFILLED,
+        RECORD_RETURNED,
+        EQUIPMENT_CREATED,
+        EQUIPMENT_UPDATED,
+        EQUIPMENT_DELETED,
+        EQUIPMENT_STATUS_CHANGED,
+        // Deadlines passing (DeadlineScheduler)
+        RECORD_OVERDUE,
+        WARRANTY_EXPIRING,
+        WARRANTY_EXPIRED,
+        REQUEST_STALE
+    }
+
+    private final Type type;
+    private final Long entityId;
+    private final Long userId;
+    private final Map<String, Object> data;
+    private final LocalDateTime occurredAt;
+
+    // Constructor
+    public DomainEvent(Type type, Long entityId, Long userId, Map<String, Object> data) {
+        this.type = type;
+        this.entityId = entityId;
+        this.userId = userId;
+        this.data = data;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+}
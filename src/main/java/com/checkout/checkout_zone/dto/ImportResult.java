@@ -0,0 +1,87 @@
+package com.checkout.checkout_zone.dto;
+
+// Import statements
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Outcome of a bulk equipment import.
+ *
+ * Counts cover every row in the upload; the errors list keeps only the
+ * first MAX_REPORTED_ERRORS entries so a badly formatted file cannot make
+ * the response (or the heap) grow with the file size.
+ */
+
+// Class definition
+public class ImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    // Record a rejected row
+    public void addError(long row, String internalId, String message, boolean duplicate) {
+        if (duplicate) {
+            duplicates++;
+        } else {
+            failed++;
+        }
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(row, internalId, message));
+        }
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    // Getters
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public boolean isErrorsTruncated() {
+        return duplicates + failed > errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    // One rejected row (row numbers are 1-based and exclude the CSV header)
+    public static class RowError {
+        private final long row;
+        private final String internalId;
+        private final String message;
+
+        public RowError(long row, String internalId, String message) {
+            this.row = row;
+            this.internalId = internalId;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getInternalId() {
+            return internalId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+}
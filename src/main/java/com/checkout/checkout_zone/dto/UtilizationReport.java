@@ -0,0 +1,101 @@
+package com.checkout.checkout_zone.dto;
+
+// Import statements
+import com.checkout.checkout_zone.entity.RollupDimension;
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Usage per item, equipment type or department over [from, to], computed
+ * from the daily usage rollups.
+ *
+ * daysCheckedOut counts item-days out (a loan from the 1st to the 4th is
+ * three days). daysOwned counts item-days owned from each item's
+ * acquisition date. utilization is daysCheckedOut / daysOwned; it is null
+ * for departments, which do not own equipment. averageLoanDays covers the
+ * loans that ended in the period and is null if none did.
+ */
+
+// Class definition
+public class UtilizationReport {
+
+    private final RollupDimension dimension;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final List<Row> rows;
+
+    // Constructor
+    public UtilizationReport(RollupDimension dimension, LocalDate from, LocalDate to, List<Row> rows) {
+        this.dimension = dimension;
+        this.from = from;
+        this.to = to;
+        this.rows = rows;
+    }
+
+    // Getters
+    public RollupDimension getDimension() {
+        return dimension;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    // One item, type or department ("" for users without a department)
+    public static class Row {
+        private final String key;
+        private final long checkouts;
+        private final long returns;
+        private final Double averageLoanDays;
+        private final long daysCheckedOut;
+        private final long daysOwned;
+        private final Double utilization;
+
+        public Row(String key, long checkouts, long returns, long loanDays, long daysCheckedOut, long daysOwned) {
+            this.key = key;
+            this.checkouts = checkouts;
+            this.returns = returns;
+            this.averageLoanDays = returns > 0 ? (double) loanDays / returns : null;
+            this.daysCheckedOut = daysCheckedOut;
+            this.daysOwned = daysOwned;
+            this.utilization = daysOwned > 0 ? (double) daysCheckedOut / daysOwned : null;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCheckouts() {
+            return checkouts;
+        }
+
+        public long getReturns() {
+            return returns;
+        }
+
+        public Double getAverageLoanDays() {
+            return averageLoanDays;
+        }
+
+        public long getDaysCheckedOut() {
+            return daysCheckedOut;
+        }
+
+        public long getDaysOwned() {
+            return daysOwned;
+        }
+
+        public Double getUtilization() {
+            return utilization;
+        }
+    }
+
+}
@@ -8,6 +8,23 @@ import java.time.LocalDateTime;
 // Annotations
 @Entity
 @Table(name = "checkout_records")
+@NamedEntityGraph(
+        name = "CheckoutRecord.detail",
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("equipment"),
+                @NamedAttributeNode(value = "checkoutRequest", subgraph = "checkoutRequest"),
+                @NamedAttributeNode("checkedOutByManager"),
+                @NamedAttributeNode("receivedByManager")
+        },
+        subgraphs = @NamedSubgraph(
+                name = "checkoutRequest",
+                attributeNodes = {
+                        @NamedAttributeNode("requestedBy"),
+                        @NamedAttributeNode("approvedBy")
+                }
+        )
+)
 
 /*
  * Checkout Record Table;
@@ -22,6 +39,7 @@ import java.time.LocalDateTime;
  * - user (Foreign Key to Users)
  * - equipment (Foreign Key to Equipment)
  * - checkoutRequest (Foreign Key to CheckoutRequests)
+ * - equipmentType, borrowerDepartment (as at checkout; usage rollup keys)
  * - checkoutDate
  * - expectedReturnDate
  * - actualReturnDate
@@ -32,6 +50,12 @@ import java.time.LocalDateTime;
  * - receivedByManager (Foreign Key to Users)
  * - createdAt
  * - updatedAt
+ *
+ * Notes:
+ *
+ * All associations are lazy. List queries load them through the
+ * "CheckoutRecord.detail" entity graph so a page of records is fetched
+ * in one joined query instead of one query per association per row.
  */
 
 // Class definition
@@ -39,24 +63,30 @@ public class CheckoutRecord {
 
     // Creating fields for the CheckoutRecord entity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkout_records_seq")
+    @SequenceGenerator(name = "checkout_records_seq", sequenceName = "checkout_records_seq", allocationSize = 50)
     private Long id;
 
     // Who borrowed the equipment
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     // What equipment was borrowed
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipment_id", nullable = false)
     private Equipment equipment;
 
     // Link to the original request
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "checkout_request_id")
     private CheckoutRequest checkoutRequest;
 
+    // Equipment type and borrower department at checkout, so a loan's checkout
+    // and return land under the same usage rollup keys
+    private String equipmentType;
+    private String borrowerDepartment;
+
     @Column(nullable = false)
     private LocalDate checkoutDate;
     private LocalDate expectedReturnDate;
@@ -74,12 +104,12 @@ public class CheckoutRecord {
     private String returnNotes;
 
     // Which manager handled the checkout and return
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "checked_out_by_manager_id")
     private User checkedOutByManager;
 
     // Which manager received it back
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "received_by_manager_id")
     private User receivedByManager;
 
@@ -107,6 +137,20 @@ public class CheckoutRecord {
     public CheckoutRecord() {}
 
     // Getters and Setters
+    public String getEquipmentType() {
+        return equipmentType;
+    }
+    public void setEquipmentType(String equipmentType) {
+        this.equipmentType = equipmentType;
+    }
+
+    public String getBorrowerDepartment() {
+        return borrowerDepartment;
+    }
+    public void setBorrowerDepartment(String borrowerDepartment) {
+        this.borrowerDepartment = borrowerDepartment;
+    }
+
     public EquipmentCondition getConditionAtCheckout() {
         return conditionAtCheckout;
     }
@@ -1,8 +1,10 @@
 package com.checkout.checkout_zone.entity;
 
 // Import statements
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -11,6 +13,22 @@ import java.util.Set;
 // Annotations
 @Entity
 @Table(name = "checkout_requests")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(
+        name = "CheckoutRequest.summary",
+        attributeNodes = {
+                @NamedAttributeNode("requestedBy"),
+                @NamedAttributeNode("approvedBy")
+        }
+)
+@NamedEntityGraph(
+        name = "CheckoutRequest.detail",
+        attributeNodes = {
+                @NamedAttributeNode("requestedBy"),
+                @NamedAttributeNode("approvedBy"),
+                @NamedAttributeNode("equipmentItems")
+        }
+)
 
 /*
  * Checkout Request Table;
@@ -32,12 +50,18 @@ import java.util.Set;
  * - approvalNotes
  * - createdAt
  * - updatedAt
+ * - version (Optimistic lock counter)
  *
  * Notes:
  *
  * Also creates a join table "request_equipment" to link requests and equipment.
  * This allows each request to include multiple equipment items, and each
  * piece of equipment to be part of multiple requests over time.
+ *
+ * All associations are lazy. List queries use the "CheckoutRequest.summary"
+ * graph (users only) and then load equipmentItems for the whole list in one
+ * extra query, since fetch-joining a collection breaks row limits. Single
+ * request lookups use "CheckoutRequest.detail".
  */
 
 // Class definition
@@ -45,11 +69,12 @@ public class CheckoutRequest {
 
     // Creating fields for the CheckoutRequest entity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checkout_requests_seq")
+    @SequenceGenerator(name = "checkout_requests_seq", sequenceName = "checkout_requests_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Requesting user is required")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requested_by_user_id", nullable = false)
     private User requestedBy;
 
@@ -77,7 +102,7 @@ public class CheckoutRequest {
     private String purpose;
 
     // Manager who approved/rejected the request
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by_user_id")
     private User approvedBy;
     private LocalDateTime approvalDate;
@@ -91,6 +116,12 @@ public class CheckoutRequest {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Bumped on every update; stale writes fail instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Run before saving new entity
     @PrePersist
     protected void onCreate() {
@@ -194,4 +225,10 @@ public class CheckoutRequest {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,8 +1,14 @@
 package com.checkout.checkout_zone.entity;
 
 // Import statements
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -10,6 +16,10 @@ import java.time.LocalDateTime;
 // Annotations
 @Entity
 @Table(name = "equipment")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "equipment")
+@NaturalIdCache(region = "equipment-natural-id")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 
 /*
  * Equipment Table;
@@ -19,7 +29,7 @@ import java.time.LocalDateTime;
  *
  * Fields:
  * - id (Primary Key)
- * - internalId (Unique)
+ * - internalId (Unique, natural id)
  * - serialNumber (Unique)
  * - name
  * - model
@@ -36,6 +46,10 @@ import java.time.LocalDateTime;
  * - imageUrl
  * - createdAt
  * - updatedAt
+ * - version (Optimistic lock counter)
+ *
+ * Kept in the second-level cache (regions in application.conf), by id and
+ * by internalId; internalId never changes after creation.
  */
 
 // Class definition
@@ -43,9 +57,11 @@ public class Equipment {
 
     // Creating fields for the Equipment entity
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "equipment_seq")
+    @SequenceGenerator(name = "equipment_seq", sequenceName = "equipment_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Internal ID is required")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String internalId;
     private String serialNumber;
@@ -88,6 +104,12 @@ public class Equipment {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Bumped on every update; stale writes fail instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // Run before saving new entity
     @PrePersist
     protected void onCreate() {
@@ -230,5 +252,10 @@ public class Equipment {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,167 @@
+package com.checkout.checkout_zone.entity;
+
+// Import statements
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Annotations
+@Entity
+@Table(name = "reservations")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(
+        name = "Reservation.detail",
+        attributeNodes = {
+                @NamedAttributeNode("equipment"),
+                @NamedAttributeNode("reservedBy")
+        }
+)
+
+/*
+ * Reservation Table;
+ *
+ * Books one piece of equipment for a future date range, so users can
+ * plan ahead instead of only seeing whether an item is free right now.
+ *
+ * Fields:
+ * - id (Primary Key)
+ * - equipment (Foreign Key to Equipment)
+ * - reservedBy (Foreign Key to Users)
+ * - startDate (First day, inclusive)
+ * - endDate (Last day, inclusive)
+ * - purpose
+ * - status (Enum: ACTIVE, CANCELLED)
+ * - createdAt
+ * - updatedAt
+ *
+ * Notes:
+ *
+ * Conflict and availability checks do not query this table; they go
+ * through ReservationIndex, which keeps active reservations and open
+ * checkouts in per-equipment interval trees.
+ */
+
+// Class definition
+public class Reservation {
+
+    // Creating fields for the Reservation entity
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull(message = "Equipment is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "equipment_id", nullable = false)
+    private Equipment equipment;
+
+    @NotNull(message = "Reserving user is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reserved_by_user_id", nullable = false)
+    private User reservedBy;
+
+    @NotNull(message = "Start date is required")
+    @Column(nullable = false)
+    private LocalDate startDate;
+    @NotNull(message = "End date is required")
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Size(max = 500, message = "Purpose cannot exceed 500 characters")
+    @Column(length = 500)
+    private String purpose;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Run before saving new entity
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = ReservationStatus.ACTIVE;
+        }
+    }
+
+    // Run before updating existing entity
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructor
+    public Reservation() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Equipment getEquipment() {
+        return equipment;
+    }
+    public void setEquipment(Equipment equipment) {
+        this.equipment = equipment;
+    }
+
+    public User getReservedBy() {
+        return reservedBy;
+    }
+    public void setReservedBy(User reservedBy) {
+        this.reservedBy = reservedBy;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getPurpose() {
+        return purpose;
+    }
+    public void setPurpose(String purpose) {
+        this.purpose = purpose;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.checkout.checkout_zone.entity;
+
+// Enum for reservation status
+public enum ReservationStatus {
+    ACTIVE,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package com.checkout.checkout_zone.entity;
+
+// Enum for what a usage rollup row is grouped by
+public enum RollupDimension {
+    EQUIPMENT,
+    TYPE,
+    DEPARTMENT
+}
@@ -0,0 +1,123 @@
+package com.checkout.checkout_zone.entity;
+
+// Import statements
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Annotations
+@Entity
+@Table(name = "usage_rollups")
+
+/*
+ * Usage Rollups Table;
+ *
+ * What changed on one day for one item, equipment type or borrower
+ * department, so usage reports never read checkout_records.
+ *
+ * Fields:
+ * - id (Primary Key: dimension, dimensionKey, rollupDate)
+ *   - dimension (Enum: EQUIPMENT, TYPE, DEPARTMENT)
+ *   - dimensionKey (equipment id, type name or department; "" for no department)
+ *   - rollupDate
+ * - checkoutCount (Checkouts that started that day)
+ * - returnCount (Checkouts that ended that day)
+ * - loanDays (Total length in days of the checkouts that ended that day)
+ * - ownedDelta (Items acquired minus items removed that day; EQUIPMENT and TYPE only)
+ *
+ * Notes:
+ *
+ * Rows hold changes, not totals: the number of items out (or owned) on a
+ * day is the sum of checkoutCount - returnCount (or ownedDelta) over all
+ * rows up to that day. Written only with native upserts from
+ * UsageRollupRepository; this entity is for reading.
+ */
+
+// Class definition
+public class UsageRollup {
+
+    // Creating fields for the UsageRollup entity
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private int checkoutCount;
+    @Column(nullable = false)
+    private int returnCount;
+    @Column(nullable = false)
+    private long loanDays;
+    @Column(nullable = false)
+    private int ownedDelta;
+
+    // Constructor
+    public UsageRollup() {}
+
+    // Getters
+    public Key getId() {
+        return id;
+    }
+
+    public int getCheckoutCount() {
+        return checkoutCount;
+    }
+
+    public int getReturnCount() {
+        return returnCount;
+    }
+
+    public long getLoanDays() {
+        return loanDays;
+    }
+
+    public int getOwnedDelta() {
+        return ownedDelta;
+    }
+
+    // Composite primary key
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 16)
+        private RollupDimension dimension;
+        @Column(nullable = false)
+        private String dimensionKey;
+        @Column(nullable = false)
+        private LocalDate rollupDate;
+
+        // Constructor
+        public Key() {}
+
+        // Getters
+        public RollupDimension getDimension() {
+            return dimension;
+        }
+
+        public String getDimensionKey() {
+            return dimensionKey;
+        }
+
+        public LocalDate getRollupDate() {
+            return rollupDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return dimension == key.dimension && Objects.equals(dimensionKey, key.dimensionKey)
+                    && Objects.equals(rollupDate, key.rollupDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, dimensionKey, rollupDate);
+        }
+    }
+
+}
@@ -1,13 +1,23 @@
 package com.checkout.checkout_zone.entity;
 
 // Import statements
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 // Annotations
 @Entity
 @Table(name="users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 
 /*
  * Users Table;
@@ -17,7 +27,7 @@ import java.time.LocalDateTime;
  *
  * Fields:
  * - id (Primary Key)
- * - username (Unique)
+ * - username (Unique, natural id)
  * - password (Hashed)
  * - email (Unique)
  * - firstName
@@ -26,8 +36,12 @@ import java.time.LocalDateTime;
  * - employeeId (Unique)
  * - role (Enum: EMPLOYEE, MANAGER, ADMIN)
  * - active (Boolean)
+ * - tokenGeneration (bumped to revoke the user's tokens, see TokenDenylist)
  * - createdAt
  * - updatedAt
+ *
+ * Kept in the second-level cache (regions in application.conf), by id and
+ * by username; username never changes after creation.
  */
 
 // Class definition
@@ -35,10 +49,12 @@ public class User {
 
     // Creating fields for the User entity
     @Id
-    @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
     @NotBlank(message = "Password is required")
@@ -63,6 +79,11 @@ public class User {
 
     private Boolean active;
 
+    // Only ever changed by UserRepository.incrementTokenGeneration
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long tokenGeneration;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -154,6 +175,13 @@ public class User {
         this.active = active;
     }
 
+    public Long getTokenGeneration() {
+        return tokenGeneration;
+    }
+    public void setTokenGeneration(Long tokenGeneration) {
+        this.tokenGeneration = tokenGeneration;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,22 +1,100 @@
 package com.checkout.checkout_zone.repository;
 
 // Import statements
+import com.checkout.checkout_zone.dto.CheckoutRecordExportRow;
 import com.checkout.checkout_zone.entity.CheckoutRecord;
 import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
 import com.checkout.checkout_zone.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 // Repository annotation
 @Repository
 
 // Interface definition
 public interface CheckoutRecordRepository extends JpaRepository<CheckoutRecord, Long> {
-    // Custom query methods
+    // Custom query methods (all associations fetch-joined through the entity graph)
+    @EntityGraph("CheckoutRecord.detail")
     List<CheckoutRecord> findByUser(User user);
+    @EntityGraph("CheckoutRecord.detail")
     List<CheckoutRecord> findByEquipment(Equipment equipment);
+    @EntityGraph("CheckoutRecord.detail")
     List<CheckoutRecord> findByUserAndActualReturnDateIsNull(User user);  // Currently checked out by user
+    @EntityGraph("CheckoutRecord.detail")
     List<CheckoutRecord> findByEquipmentAndActualReturnDateIsNull(Equipment equipment);  // Currently checked out
+    @EntityGraph("CheckoutRecord.detail")
     List<CheckoutRecord> findByActualReturnDateIsNull();  // All currently checked out items
+
+    // Single record with all associations loaded
+    @EntityGraph("CheckoutRecord.detail")
+    Optional<CheckoutRecord> findDetailedById(Long id);
+    @EntityGraph("CheckoutRecord.detail")
+    List<CheckoutRecord> findDetailedByIdIn(Collection<Long> ids);
+
+    // Equipment ids behind a set of records
+    @Query("SELECT r.equipment.id FROM CheckoutRecord r WHERE r.id IN :ids")
+    List<Long> findEquipmentIds(@Param("ids") Collection<Long> ids);
+
+    // Rows for rebuilding the interval index: [id, equipmentId, userId, checkoutDate, expectedReturnDate]
+    @Query("SELECT r.id, r.equipment.id, r.user.id, r.checkoutDate, r.expectedReturnDate FROM CheckoutRecord r " +
+            "WHERE r.actualReturnDate IS NULL")
+    List<Object[]> findOpenIndexRows();
+
+    // [min(id), max(id)], for splitting the usage rollup backfill into id ranges
+    @Query("SELECT MIN(r.id), MAX(r.id) FROM CheckoutRecord r")
+    List<Object[]> findIdRange();
+
+    // Validator for conditional GET on checkout data, in one round trip of index lookups:
+    // [max(id), max(updated_at)] for each table that shows up in request/record JSON,
+    // and their delete counters (V11)
+    @Query(value = "SELECT " +
+            "(SELECT MAX(id) FROM checkout_records), (SELECT MAX(updated_at) FROM checkout_records), " +
+            "(SELECT MAX(id) FROM checkout_requests), (SELECT MAX(updated_at) FROM checkout_requests), " +
+            "(SELECT MAX(id) FROM equipment), (SELECT MAX(updated_at) FROM equipment), " +
+            "(SELECT MAX(id) FROM users), (SELECT MAX(updated_at) FROM users), " +
+            "(SELECT SUM(deletions) FROM table_deletions " +
+            "WHERE table_name IN ('checkout_records', 'checkout_requests', 'equipment', 'users'))",
+            nativeQuery = true)
+    List<Object[]> findCheckoutDataStamp();
+
+    // Close out records that are still open; returns how many were actually returned
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CheckoutRecord r SET r.actualReturnDate = :returnDate, r.conditionAtReturn = :condition, " +
+            "r.returnNotes = :notes, r.receivedByManager = :manager, r.updatedAt = :now " +
+            "WHERE r.id IN :ids AND r.actualReturnDate IS NULL")
+    int markReturned(@Param("ids") Collection<Long> ids, @Param("returnDate") LocalDate returnDate,
+                     @Param("condition") EquipmentCondition condition, @Param("notes") String notes,
+                     @Param("manager") User manager, @Param("now") LocalDateTime now);
+
+    // Forward-only cursor over all records as flat rows (must be consumed inside a transaction)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.checkout.checkout_zone.dto.CheckoutRecordExportRow(" +
+            "r.id, req.id, u.id, u.username, u.department, " +
+            "e.id, e.internalId, e.name, e.type, " +
+            "r.checkoutDate, r.expectedReturnDate, r.actualReturnDate, " +
+            "r.conditionAtCheckout, r.conditionAtReturn, " +
+            "m.username, rm.username, r.returnNotes) " +
+            "FROM CheckoutRecord r JOIN r.user u JOIN r.equipment e " +
+            "LEFT JOIN r.checkoutRequest req " +
+            "LEFT JOIN r.checkedOutByManager m LEFT JOIN r.receivedByManager rm " +
+            "ORDER BY r.id")
+    Stream<CheckoutRecordExportRow> streamExportRows();
 }
@@ -4,18 +4,62 @@ package com.checkout.checkout_zone.repository;
 import com.checkout.checkout_zone.entity.CheckoutRequest;
 import com.checkout.checkout_zone.entity.RequestStatus;
 import com.checkout.checkout_zone.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 // Repository annotation
 @Repository
 
 // Interface definition
-public interface CheckoutRequestRepository extends JpaRepository<CheckoutRequest, Long> {
-    // Custom query methods
+public interface CheckoutRequestRepository extends JpaRepository<CheckoutRequest, Long>, JpaSpecificationExecutor<CheckoutRequest> {
+    // Custom query methods (users are fetch-joined, equipmentItems via fetchEquipmentItems)
+    @Override
+    @EntityGraph("CheckoutRequest.summary")
+    List<CheckoutRequest> findAll();
+    @EntityGraph("CheckoutRequest.summary")
     List<CheckoutRequest> findByRequestedBy(User user);
+    @EntityGraph("CheckoutRequest.summary")
     List<CheckoutRequest> findByStatus(RequestStatus status);
+    @EntityGraph("CheckoutRequest.summary")
     List<CheckoutRequest> findByRequestedByAndStatus(User user, RequestStatus status);
+    @EntityGraph("CheckoutRequest.summary")
     List<CheckoutRequest> findByApprovedBy(User approver);
+
+    // Single request with users and equipment items loaded
+    @EntityGraph("CheckoutRequest.detail")
+    Optional<CheckoutRequest> findDetailedById(Long id);
+
+    // Load equipmentItems for a whole list of requests in one query
+    @Query("SELECT DISTINCT r FROM CheckoutRequest r LEFT JOIN FETCH r.equipmentItems WHERE r.id IN :ids")
+    List<CheckoutRequest> fetchEquipmentItems(@Param("ids") Collection<Long> ids);
+
+    // Ids of the equipment in a request, without loading the entities
+    @Query("SELECT e.id FROM CheckoutRequest r JOIN r.equipmentItems e WHERE r.id = :id")
+    List<Long> findEquipmentIds(@Param("id") Long id);
+
+    // Compare-and-set status transition; returns 0 if the request was not in "from"
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CheckoutRequest r SET r.status = :to, r.version = r.version + 1, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status = :from")
+    int compareAndSetStatus(@Param("id") Long id, @Param("from") RequestStatus from,
+                            @Param("to") RequestStatus to, @Param("now") LocalDateTime now);
+
+    // Rows for the deadline scheduler: [id, requesterId, neededByDate] of open requests needed on or after a date
+    @Query("SELECT r.id, r.requestedBy.id, r.neededByDate FROM CheckoutRequest r " +
+            "WHERE r.status IN :statuses AND r.neededByDate >= :from")
+    List<Object[]> findNeededByRows(@Param("statuses") Collection<RequestStatus> statuses, @Param("from") LocalDate from);
+
+    // Aggregate counts for the dashboard (each row is [status, count])
+    @Query("SELECT r.status, COUNT(r) FROM CheckoutRequest r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
 }
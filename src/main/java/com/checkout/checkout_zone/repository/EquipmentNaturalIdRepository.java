@@ -0,0 +1,16 @@
+package com.checkout.checkout_zone.repository;
+
+// Import statements
+import com.checkout.checkout_zone.entity.Equipment;
+import java.util.Optional;
+
+/*
+ * Natural-id lookup for EquipmentRepository. A derived query would always
+ * hit the database; this goes through the second-level natural-id cache
+ * (internalId -> id) and then the entity cache.
+ */
+
+// Interface definition
+public interface EquipmentNaturalIdRepository {
+    Optional<Equipment> findByInternalId(String internalId);
+}
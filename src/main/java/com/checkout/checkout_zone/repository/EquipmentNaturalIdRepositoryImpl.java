@@ -0,0 +1,25 @@
+package com.checkout.checkout_zone.repository;
+
+// Import statements
+import com.checkout.checkout_zone.entity.Equipment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
+
+// Annotations
+@Transactional(readOnly = true)
+
+// Class definition
+public class EquipmentNaturalIdRepositoryImpl implements EquipmentNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Equipment> findByInternalId(String internalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Equipment.class).loadOptional(internalId);
+    }
+
+}
@@ -2,21 +2,112 @@ package com.checkout.checkout_zone.repository;
 
 // Import statements
 import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
 import com.checkout.checkout_zone.entity.EquipmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 // Repository annotation
 @Repository
 
 // Interface definition
-public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
-    Optional<Equipment> findByInternalId(String internalId);
+public interface EquipmentRepository extends JpaRepository<Equipment, Long>, JpaSpecificationExecutor<Equipment>,
+        EquipmentNaturalIdRepository {
     Optional<Equipment> findBySerialNumber(String serialNumber);
+
+    // Catalog filters, cached until the next change to equipment
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "equipment-queries")
+    })
     List<Equipment> findByStatus(EquipmentStatus status);
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "equipment-queries")
+    })
     List<Equipment> findByType(String type);
+
     List<Equipment> findByStatusAndType(EquipmentStatus status, String type);
     boolean existsByInternalId(String internalId);
+
+    // Which of these internal IDs already exist (set-based check for bulk import)
+    @Query("SELECT e.internalId FROM Equipment e WHERE e.internalId IN :internalIds")
+    List<String> findExistingInternalIds(@Param("internalIds") Collection<String> internalIds);
+
+    // Compare-and-set status transition: only rows still in "from" change.
+    // Returns the number of rows updated, so callers can tell if they lost a race.
+    // As a bulk update it drops the whole cached equipment region and query results on commit
+    // (see application.conf).
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Equipment e SET e.status = :to, e.version = e.version + 1, e.updatedAt = :now " +
+            "WHERE e.id IN :ids AND e.status = :from")
+    int compareAndSetStatus(@Param("ids") Collection<Long> ids, @Param("from") EquipmentStatus from,
+                            @Param("to") EquipmentStatus to, @Param("now") LocalDateTime now);
+
+    // Current status alone (read before a compare-and-set without loading the entity)
+    @Query("SELECT e.status FROM Equipment e WHERE e.id = :id")
+    Optional<EquipmentStatus> findStatusById(@Param("id") Long id);
+
+    // Same, also recording the condition (used when items come back)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Equipment e SET e.status = :to, e.condition = :condition, e.version = e.version + 1, e.updatedAt = :now " +
+            "WHERE e.id IN :ids AND e.status = :from")
+    int compareAndSetStatus(@Param("ids") Collection<Long> ids, @Param("from") EquipmentStatus from,
+                            @Param("to") EquipmentStatus to, @Param("condition") EquipmentCondition condition,
+                            @Param("now") LocalDateTime now);
+
+    // Forward-only cursor over the whole inventory (must be consumed inside a transaction)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Equipment e ORDER BY e.id")
+    Stream<Equipment> streamAllForExport();
+
+    // Ranked full-text search over search_vector (V9); "query" is a to_tsquery expression
+    @Query(value = "SELECT e.* FROM equipment e, to_tsquery('simple', :query) q " +
+            "WHERE e.search_vector @@ q ORDER BY ts_rank(e.search_vector, q) DESC, e.id LIMIT :limit",
+            nativeQuery = true)
+    List<Equipment> search(@Param("query") String query, @Param("limit") int limit);
+
+    // Rows for the deadline scheduler: [id, warrantyExpiry] of warranties ending on or after a date
+    @Query("SELECT e.id, e.warrantyExpiry FROM Equipment e WHERE e.warrantyExpiry >= :from")
+    List<Object[]> findWarrantyRows(@Param("from") LocalDate from);
+
+    // [min(id), max(id)], for splitting the usage rollup backfill into id ranges
+    @Query("SELECT MIN(e.id), MAX(e.id) FROM Equipment e")
+    List<Object[]> findIdRange();
+
+    // Validators for conditional GET: [max(id), max(updated_at), delete counter (V11)] for
+    // the whole catalog, and [version, updatedAt] for one item (no entity is loaded)
+    @Query(value = "SELECT (SELECT MAX(id) FROM equipment), (SELECT MAX(updated_at) FROM equipment), " +
+            "(SELECT deletions FROM table_deletions WHERE table_name = 'equipment')",
+            nativeQuery = true)
+    List<Object[]> findCatalogStamp();
+    @Query("SELECT e.version, e.updatedAt FROM Equipment e WHERE e.id = :id")
+    List<Object[]> findVersionStamp(@Param("id") Long id);
+
+    // Aggregate counts for the dashboard (each row is [key, count])
+    @Query("SELECT e.status, COUNT(e) FROM Equipment e GROUP BY e.status")
+    List<Object[]> countGroupedByStatus();
+    @Query("SELECT e.type, COUNT(e) FROM Equipment e GROUP BY e.type")
+    List<Object[]> countGroupedByType();
+    @Query("SELECT e.location, COUNT(e) FROM Equipment e GROUP BY e.location")
+    List<Object[]> countGroupedByLocation();
 }
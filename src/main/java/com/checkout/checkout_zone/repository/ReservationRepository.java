@@ -0,0 +1,32 @@
+package com.checkout.checkout_zone.repository;
+
+// Import statements
+import com.checkout.checkout_zone.entity.Reservation;
+import com.checkout.checkout_zone.entity.ReservationStatus;
+import com.checkout.checkout_zone.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Repository annotation
+@Repository
+
+// Interface definition
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    // Custom query methods (equipment and user fetch-joined through the entity graph)
+    @EntityGraph("Reservation.detail")
+    Optional<Reservation> findDetailedById(Long id);
+    @EntityGraph("Reservation.detail")
+    List<Reservation> findByReservedByAndStatusAndEndDateGreaterThanEqualOrderByStartDate(
+            User user, ReservationStatus status, LocalDate endDate);  // User's upcoming reservations
+
+    // Rows for rebuilding the interval index: [id, equipmentId, userId, startDate, endDate]
+    @Query("SELECT r.id, r.equipment.id, r.reservedBy.id, r.startDate, r.endDate FROM Reservation r " +
+            "WHERE r.status = :status AND r.endDate >= :from")
+    List<Object[]> findIndexRows(@Param("status") ReservationStatus status, @Param("from") LocalDate from);
+}
@@ -0,0 +1,173 @@
+package com.checkout.checkout_zone.repository;
+
+// Import statements
+import com.checkout.checkout_zone.entity.RollupDimension;
+import com.checkout.checkout_zone.entity.UsageRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+// Repository annotation
+@Repository
+
+// Interface definition
+public interface UsageRollupRepository extends JpaRepository<UsageRollup, UsageRollup.Key> {
+
+    // Every write below names the table it writes as its query space; a native write without
+    // one makes Hibernate drop the whole second-level cache, entities and queries alike.
+
+    // Upserts add to whatever the day already has (t is the target row in usage_rollups)
+    String ADD_ON_CONFLICT = "ON CONFLICT (dimension, dimension_key, rollup_date) DO UPDATE SET " +
+            "checkout_count = t.checkout_count + EXCLUDED.checkout_count, " +
+            "return_count = t.return_count + EXCLUDED.return_count, " +
+            "loan_days = t.loan_days + EXCLUDED.loan_days, " +
+            "owned_delta = t.owned_delta + EXCLUDED.owned_delta";
+    String COLUMNS = "(dimension, dimension_key, rollup_date, checkout_count, return_count, loan_days, owned_delta) ";
+    String INSERT_COLUMNS = "INSERT INTO usage_rollups AS t " + COLUMNS;
+    String BUILD_COLUMNS = "INSERT INTO usage_rollups_build " + COLUMNS;
+
+    // Per-record changes: a checkout starting on checkout_date, or ending on actual_return_date.
+    // Type and department are the ones recorded at checkout, so both ends of a loan share a key
+    String RECORDS = "FROM checkout_records r ";
+    String CHECKOUT_EVENTS = "SELECT r.checkout_date AS on_date, 1 AS checkouts, 0 AS returns, 0 AS loan_days, " +
+            "r.equipment_id AS equipment_id, r.equipment_type AS type, r.borrower_department AS department " + RECORDS;
+    String RETURN_EVENTS = "SELECT r.actual_return_date AS on_date, 0 AS checkouts, 1 AS returns, " +
+            "r.actual_return_date - r.checkout_date AS loan_days, " +
+            "r.equipment_id AS equipment_id, r.equipment_type AS type, r.borrower_department AS department " + RECORDS;
+    // Sum "events" into one row per key and day for each dimension (ordered, so concurrent upserts lock rows in the same order)
+    String SUM_EVENTS = "SELECT 'EQUIPMENT', CAST(equipment_id AS varchar), on_date, SUM(checkouts), SUM(returns), SUM(loan_days), 0 " +
+            "FROM events GROUP BY equipment_id, on_date " +
+            "UNION ALL SELECT 'TYPE', type, on_date, SUM(checkouts), SUM(returns), SUM(loan_days), 0 " +
+            "FROM events GROUP BY type, on_date " +
+            "UNION ALL SELECT 'DEPARTMENT', COALESCE(department, ''), on_date, SUM(checkouts), SUM(returns), SUM(loan_days), 0 " +
+            "FROM events GROUP BY COALESCE(department, ''), on_date " +
+            "ORDER BY 1, 2, 3 ";
+    String UPSERT_EVENTS = INSERT_COLUMNS + SUM_EVENTS + ADD_ON_CONFLICT;
+    String BUILD_EVENTS = BUILD_COLUMNS + SUM_EVENTS;
+
+    // Items counted as owned from their acquisition date (or creation, if none was given)
+    String ITEMS = "SELECT e.id AS equipment_id, e.type AS type, " +
+            "COALESCE(e.acquisition_date, CAST(e.created_at AS date), CURRENT_DATE) AS on_date FROM equipment e ";
+    String SUM_ACQUIRED = "SELECT 'EQUIPMENT', CAST(equipment_id AS varchar), on_date, 0, 0, 0, 1 FROM items " +
+            "UNION ALL SELECT 'TYPE', type, on_date, 0, 0, 0, COUNT(*) FROM items GROUP BY type, on_date " +
+            "ORDER BY 1, 2, 3 ";
+    String UPSERT_ACQUIRED = INSERT_COLUMNS + SUM_ACQUIRED + ADD_ON_CONFLICT;
+    String BUILD_ACQUIRED = BUILD_COLUMNS + SUM_ACQUIRED;
+
+    // Count newly fulfilled checkouts (flushes first, so just-saved records are visible)
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = "WITH events AS (" + CHECKOUT_EVENTS + "WHERE r.id IN (:ids)) " + UPSERT_EVENTS, nativeQuery = true)
+    int addCheckouts(@Param("ids") Collection<Long> recordIds);
+
+    // Count just-returned checkouts and their loan length
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = "WITH events AS (" + RETURN_EVENTS + "WHERE r.id IN (:ids) AND r.actual_return_date IS NOT NULL) " +
+            UPSERT_EVENTS, nativeQuery = true)
+    int addReturns(@Param("ids") Collection<Long> recordIds);
+
+    // Only one backfill at a time, across instances (held until the calling transaction ends)
+    String BACKFILL_LOCK = "hashtext('usage_rollups_build')";
+
+    // Backfill: checkouts and returns of every record in an id range, into the staging table
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups_build"))
+    @Query(value = "WITH events AS (" + CHECKOUT_EVENTS + "WHERE r.id BETWEEN :first AND :last " +
+            "UNION ALL " + RETURN_EVENTS + "WHERE r.id BETWEEN :first AND :last AND r.actual_return_date IS NOT NULL) " +
+            BUILD_EVENTS, nativeQuery = true)
+    int buildRecordRange(@Param("first") long first, @Param("last") long last);
+
+    // Count new items as owned
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = "WITH items AS (" + ITEMS + "WHERE e.id IN (:ids)) " + UPSERT_ACQUIRED, nativeQuery = true)
+    int addAcquired(@Param("ids") Collection<Long> equipmentIds);
+
+    // Backfill: ownership of every item in an id range, into the staging table
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups_build"))
+    @Query(value = "WITH items AS (" + ITEMS + "WHERE e.id BETWEEN :first AND :last) " + BUILD_ACQUIRED, nativeQuery = true)
+    int buildAcquiredRange(@Param("first") long first, @Param("last") long last);
+
+    // Item no longer owned from a date (delta -1), for the item and its type
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = INSERT_COLUMNS + "VALUES ('EQUIPMENT', :equipmentKey, :day, 0, 0, 0, :delta), " +
+            "('TYPE', :type, :day, 0, 0, 0, :delta) " + ADD_ON_CONFLICT, nativeQuery = true)
+    int addOwnedDelta(@Param("equipmentKey") String equipmentKey, @Param("type") String type,
+                      @Param("day") LocalDate day, @Param("delta") int delta);
+
+    // An item moved from one type to another on a date
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = INSERT_COLUMNS + "VALUES ('TYPE', :fromType, :day, 0, 0, 0, -1), " +
+            "('TYPE', :toType, :day, 0, 0, 0, 1) " + ADD_ON_CONFLICT, nativeQuery = true)
+    int moveType(@Param("fromType") String fromType, @Param("toType") String toType, @Param("day") LocalDate day);
+
+    // Backfill: take the backfill lock if no other backfill holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(" + BACKFILL_LOCK + ")", nativeQuery = true)
+    boolean tryLockBackfill();
+
+    // Backfill: wait for the backfill lock
+    @Query(value = "SELECT true FROM pg_advisory_xact_lock(" + BACKFILL_LOCK + ")", nativeQuery = true)
+    boolean lockBackfill();
+
+    // Backfill: id of this transaction's snapshot, for the chunk transactions to share
+    @Query(value = "SELECT pg_export_snapshot()", nativeQuery = true)
+    String exportSnapshot();
+
+    // Empty the staging table before a backfill (and after publishing it)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups_build"))
+    @Query(value = "DELETE FROM usage_rollups_build", nativeQuery = true)
+    int clearBuild();
+
+    // Backfill: the current rollups with their signs flipped, into the staging table,
+    // so that publishing the build takes them back out
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups_build"))
+    @Query(value = BUILD_COLUMNS + "SELECT dimension, dimension_key, rollup_date, " +
+            "-checkout_count, -return_count, -loan_days, -owned_delta FROM usage_rollups", nativeQuery = true)
+    int buildCurrentNegated();
+
+    // Add the staging table's net change per key and day to the rollups (keys whose change is zero are skipped)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = INSERT_COLUMNS + "SELECT dimension, dimension_key, rollup_date, " +
+            "SUM(checkout_count), SUM(return_count), SUM(loan_days), SUM(owned_delta) FROM usage_rollups_build " +
+            "GROUP BY dimension, dimension_key, rollup_date " +
+            "HAVING SUM(checkout_count) <> 0 OR SUM(return_count) <> 0 OR SUM(loan_days) <> 0 OR SUM(owned_delta) <> 0 " +
+            "ORDER BY 1, 2, 3 " + ADD_ON_CONFLICT, nativeQuery = true)
+    int applyBuild();
+
+    // Drop rollup rows that applyBuild left at zero (days the rebuilt history no longer has)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "usage_rollups"))
+    @Query(value = "DELETE FROM usage_rollups u WHERE u.checkout_count = 0 AND u.return_count = 0 " +
+            "AND u.loan_days = 0 AND u.owned_delta = 0 AND EXISTS (SELECT 1 FROM usage_rollups_build b " +
+            "WHERE b.dimension = u.dimension AND b.dimension_key = u.dimension_key AND b.rollup_date = u.rollup_date)",
+            nativeQuery = true)
+    int deleteEmptyBuilt();
+
+    // Net items out and owned per key before a date: [key, sum(checkouts - returns), sum(ownedDelta)]
+    @Query("SELECT r.id.dimensionKey, SUM(r.checkoutCount - r.returnCount), SUM(r.ownedDelta) FROM UsageRollup r " +
+            "WHERE r.id.dimension = :dimension AND r.id.rollupDate < :before " +
+            "AND (:key IS NULL OR r.id.dimensionKey = :key) GROUP BY r.id.dimensionKey")
+    List<Object[]> sumBefore(@Param("dimension") RollupDimension dimension, @Param("key") String key,
+                             @Param("before") LocalDate before);
+
+    // Daily rows in [from, to], by key and date
+    @Query("SELECT r FROM UsageRollup r WHERE r.id.dimension = :dimension AND r.id.rollupDate BETWEEN :from AND :to " +
+            "AND (:key IS NULL OR r.id.dimensionKey = :key) ORDER BY r.id.dimensionKey, r.id.rollupDate")
+    List<UsageRollup> findRange(@Param("dimension") RollupDimension dimension, @Param("key") String key,
+                                @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
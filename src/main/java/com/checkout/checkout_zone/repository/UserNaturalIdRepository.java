@@ -0,0 +1,16 @@
+package com.checkout.checkout_zone.repository;
+
+// Import statements
+import com.checkout.checkout_zone.entity.User;
+import java.util.Optional;
+
+/*
+ * Natural-id lookup for UserRepository. A derived query would always
+ * hit the database; this goes through the second-level natural-id cache
+ * (username -> id) and then the entity cache.
+ */
+
+// Interface definition
+public interface UserNaturalIdRepository {
+    Optional<User> findByUsername(String username);
+}
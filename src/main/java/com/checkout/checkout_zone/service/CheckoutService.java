@@ -1,21 +1,33 @@
 package com.checkout.checkout_zone.service;
 
 // Import statements
+import com.checkout.checkout_zone.dto.DomainEvent;
 import com.checkout.checkout_zone.entity.*;
 import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
 import com.checkout.checkout_zone.repository.CheckoutRequestRepository;
 import com.checkout.checkout_zone.repository.EquipmentRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
 // Service annotation
 @Service
+@Timed(value = "checkout.service", histogram = true)
 
 // Service class for checkout management
 public class CheckoutService {
@@ -27,6 +39,16 @@ public class CheckoutService {
     private CheckoutRecordRepository checkoutRecordRepository;
     @Autowired
     private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ConcurrencyRetry concurrencyRetry;
+    @Autowired
+    private ReservationIndex reservationIndex;
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+    @Autowired
+    private UsageRollupService usageRollups;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     // Create a new checkout request
     public CheckoutRequest createCheckoutRequest(User user, Set<Equipment> equipmentItems, String purpose, LocalDate neededByDate) {
@@ -42,129 +64,262 @@ public class CheckoutService {
         request.setPurpose(purpose);
         request.setNeededByDate(neededByDate);
         request.setStatus(RequestStatus.PENDING);
-        return checkoutRequestRepository.save(request);
+        CheckoutRequest saved = checkoutRequestRepository.save(request);
+        publish(DomainEvent.Type.REQUEST_CREATED, saved.getId(), user.getId(),
+                "status", saved.getStatus(), "neededByDate", saved.getNeededByDate());
+        deadlineScheduler.addRequest(saved);
+        return saved;
     }
 
     // Get all checkout requests
+    @Transactional(readOnly = true)
     public List<CheckoutRequest> getAllCheckoutRequests() {
-        return checkoutRequestRepository.findAll();
+        return withEquipmentItems(checkoutRequestRepository.findAll());
+    }
+
+    // Get one keyset page of checkout requests, newest first, with optional filters
+    @Transactional(readOnly = true)
+    public List<CheckoutRequest> getCheckoutRequestPage(Collection<RequestStatus> statuses, Long requesterId,
+                                                        LocalDate from, LocalDate to, Long beforeId, int limit) {
+        Specification<CheckoutRequest> spec = Specification.allOf(
+                beforeId == null ? null : (root, query, cb) -> cb.lessThan(root.<Long>get("id"), beforeId),
+                statuses == null || statuses.isEmpty() ? null : (root, query, cb) -> root.get("status").in(statuses),
+                requesterId == null ? null : (root, query, cb) -> cb.equal(root.get("requestedBy").get("id"), requesterId),
+                from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.<LocalDate>get("requestedDate"), from),
+                to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.<LocalDate>get("requestedDate"), to)
+        );
+        // Fetch one extra row so the caller can tell whether there is a next page
+        return withEquipmentItems(checkoutRequestRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+                .project("requestedBy", "approvedBy")
+                .limit(limit + 1)
+                .all()));
     }
 
     // Get pending requests
+    @Transactional(readOnly = true)
     public List<CheckoutRequest> getPendingRequests() {
-        return checkoutRequestRepository.findByStatus(RequestStatus.PENDING);
+        return withEquipmentItems(checkoutRequestRepository.findByStatus(RequestStatus.PENDING));
     }
 
     // Get requests by user
+    @Transactional(readOnly = true)
     public List<CheckoutRequest> getRequestsByUser(User user) {
-        return checkoutRequestRepository.findByRequestedBy(user);
+        return withEquipmentItems(checkoutRequestRepository.findByRequestedBy(user));
     }
 
     // Approve a checkout request
-    @Transactional
+    // (version-checked on flush; a concurrent approve/reject makes the loser retry and fail cleanly)
     public CheckoutRequest approveRequest(Long requestId, User approver, String notes) {
-        CheckoutRequest request = checkoutRequestRepository.findById(requestId)
-                .orElseThrow(() -> new IllegalArgumentException("Request not found with id: " + requestId));
+        return concurrencyRetry.inTransaction(() -> {
+            CheckoutRequest request = checkoutRequestRepository.findDetailedById(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("Request not found with id: " + requestId));
 
-        if (request.getStatus() != RequestStatus.PENDING) {
-            throw new IllegalArgumentException("Only pending requests can be approved");
-        }
-        // Check if equipment is still available
-        for (Equipment equipment : request.getEquipmentItems()) {
-            Equipment current = equipmentRepository.findById(equipment.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found"));
-            if (current.getStatus() != EquipmentStatus.AVAILABLE) {
-                throw new IllegalArgumentException("Equipment " + current.getName() + " is no longer available");
+            if (request.getStatus() != RequestStatus.PENDING) {
+                throw new IllegalArgumentException("Only pending requests can be approved");
             }
-        }
-        request.setStatus(RequestStatus.APPROVED);
-        request.setApprovedBy(approver);
-        request.setApprovalDate(LocalDateTime.now());
-        request.setApprovalNotes(notes);
-        return checkoutRequestRepository.save(request);
+            // Check if equipment is still available (advisory; fulfillment does the real reservation)
+            for (Equipment equipment : request.getEquipmentItems()) {
+                Equipment current = equipmentRepository.findById(equipment.getId())
+                        .orElseThrow(() -> new IllegalArgumentException("Equipment not found"));
+                if (current.getStatus() != EquipmentStatus.AVAILABLE) {
+                    throw new IllegalArgumentException("Equipment " + current.getName() + " is no longer available");
+                }
+            }
+            request.setStatus(RequestStatus.APPROVED);
+            request.setApprovedBy(approver);
+            request.setApprovalDate(LocalDateTime.now());
+            request.setApprovalNotes(notes);
+            publish(DomainEvent.Type.REQUEST_APPROVED, requestId, request.getRequestedBy().getId(),
+                    "status", RequestStatus.APPROVED, "approvedBy", approver.getUsername(), "approvalNotes", notes);
+            return checkoutRequestRepository.save(request);
+        });
     }
 
     // Reject a checkout request
     public CheckoutRequest rejectRequest(Long requestId, User approver, String notes) {
-        CheckoutRequest request = checkoutRequestRepository.findById(requestId)
-                .orElseThrow(() -> new IllegalArgumentException("Request not found with id: " + requestId));
-        if (request.getStatus() != RequestStatus.PENDING) {
-            throw new IllegalArgumentException("Only pending requests can be rejected");
-        }
-        request.setStatus(RequestStatus.REJECTED);
-        request.setApprovedBy(approver);
-        request.setApprovalDate(LocalDateTime.now());
-        request.setApprovalNotes(notes);
-        return checkoutRequestRepository.save(request);
+        CheckoutRequest rejected = concurrencyRetry.inTransaction(() -> {
+            CheckoutRequest request = checkoutRequestRepository.findDetailedById(requestId)
+                    .orElseThrow(() -> new IllegalArgumentException("Request not found with id: " + requestId));
+            if (request.getStatus() != RequestStatus.PENDING) {
+                throw new IllegalArgumentException("Only pending requests can be rejected");
+            }
+            request.setStatus(RequestStatus.REJECTED);
+            request.setApprovedBy(approver);
+            request.setApprovalDate(LocalDateTime.now());
+            request.setApprovalNotes(notes);
+            publish(DomainEvent.Type.REQUEST_REJECTED, requestId, request.getRequestedBy().getId(),
+                    "status", RequestStatus.REJECTED, "approvedBy", approver.getUsername(), "approvalNotes", notes);
+            return checkoutRequestRepository.save(request);
+        });
+        deadlineScheduler.removeRequest(requestId);
+        return rejected;
     }
 
     // Actually hand out equipment (create checkout records)
-    @Transactional
+    //
+    // Both transitions are conditional UPDATEs rather than read-check-write:
+    // the request only moves APPROVED -> COMPLETED if nobody else got there
+    // first, and the items only move AVAILABLE -> CHECKED_OUT if every one of
+    // them is still available. Anything short of a full match rolls the whole
+    // fulfillment back, so an item can never be checked out twice.
     public List<CheckoutRecord> fulfillCheckoutRequest(Long requestId, User manager, LocalDate expectedReturnDate) {
-        CheckoutRequest request = checkoutRequestRepository.findById(requestId)
-                .orElseThrow(() -> new IllegalArgumentException("Request not found with id: " + requestId));
-
-        if (request.getStatus() != RequestStatus.APPROVED) {
-            throw new IllegalArgumentException("Only approved requests can be fulfilled");
-        }
-        List<CheckoutRecord> records = new java.util.ArrayList<>();
-        for (Equipment equipment : request.getEquipmentItems()) {
-            // Create checkout record
-            CheckoutRecord record = new CheckoutRecord();
-            record.setUser(request.getRequestedBy());
-            record.setEquipment(equipment);
-            record.setCheckoutRequest(request);
-            record.setCheckoutDate(LocalDate.now());
-            record.setExpectedReturnDate(expectedReturnDate);
-            record.setConditionAtCheckout(equipment.getCondition());
-            record.setCheckedOutByManager(manager);
-            checkoutRecordRepository.save(record);
-            records.add(record);
-            // Update equipment status
-            equipment.setStatus(EquipmentStatus.CHECKED_OUT);
-            equipmentRepository.save(equipment);
-        }
-        // Mark request as completed
-        request.setStatus(RequestStatus.COMPLETED);
-        checkoutRequestRepository.save(request);
-        return records;
+        // The reservation conflict check and indexing the new checkouts happen under the items' booking locks
+        List<Long> requestedIds = checkoutRequestRepository.findEquipmentIds(requestId);
+        List<CheckoutRecord> fulfilled = reservationIndex.checkOut(requestedIds,
+                () -> concurrencyRetry.inTransaction(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (checkoutRequestRepository.compareAndSetStatus(requestId, RequestStatus.APPROVED, RequestStatus.COMPLETED, now) == 0) {
+                throw new IllegalArgumentException(checkoutRequestRepository.existsById(requestId)
+                        ? "Only approved requests can be fulfilled"
+                        : "Request not found with id: " + requestId);
+            }
+            List<Long> equipmentIds = checkoutRequestRepository.findEquipmentIds(requestId);
+            int reserved = equipmentRepository.compareAndSetStatus(
+                    equipmentIds, EquipmentStatus.AVAILABLE, EquipmentStatus.CHECKED_OUT, now
+            );
+            if (reserved != equipmentIds.size()) {
+                throw new IllegalArgumentException("Some equipment in this request is no longer available");
+            }
+            // Loaded after the updates, so statuses and versions are current
+            CheckoutRequest request = checkoutRequestRepository.findDetailedById(requestId).orElseThrow();
+            // Someone else may have booked these items for part of the loan period
+            // (with no return date the loan is open-ended, as it is indexed)
+            ReservationIndex.Booking conflict = reservationIndex.findConflict(
+                    equipmentIds, request.getRequestedBy().getId(), LocalDate.now(), expectedReturnDate
+            );
+            if (conflict != null) {
+                throw new IllegalArgumentException("Equipment is reserved by another user from " + conflict.startDate());
+            }
+            List<CheckoutRecord> records = new ArrayList<>();
+            for (Equipment equipment : request.getEquipmentItems()) {
+                // Create checkout record
+                CheckoutRecord record = new CheckoutRecord();
+                record.setUser(request.getRequestedBy());
+                record.setEquipment(equipment);
+                record.setEquipmentType(equipment.getType());
+                record.setBorrowerDepartment(request.getRequestedBy().getDepartment());
+                record.setCheckoutRequest(request);
+                record.setCheckoutDate(LocalDate.now());
+                record.setExpectedReturnDate(expectedReturnDate);
+                record.setConditionAtCheckout(equipment.getCondition());
+                record.setCheckedOutByManager(manager);
+                records.add(record);
+            }
+            // Ids come from the pooled sequence, so the inserts go out as one JDBC batch
+            checkoutRecordRepository.saveAll(records);
+            List<Long> recordIds = records.stream().map(CheckoutRecord::getId).toList();
+            usageRollups.recordCheckouts(recordIds);
+            publish(DomainEvent.Type.REQUEST_FULFILLED, requestId, request.getRequestedBy().getId(),
+                    "status", RequestStatus.COMPLETED, "equipmentIds", equipmentIds, "recordIds", recordIds);
+            for (Equipment equipment : request.getEquipmentItems()) {
+                publish(DomainEvent.Type.EQUIPMENT_STATUS_CHANGED, equipment.getId(), null,
+                        "status", equipment.getStatus(), "condition", equipment.getCondition());
+            }
+            return records;
+        }));
+        deadlineScheduler.removeRequest(requestId);
+        deadlineScheduler.addCheckouts(fulfilled);
+        return fulfilled;
     }
 
     // Return equipment
-    @Transactional
     public CheckoutRecord returnEquipment(Long recordId, User manager, EquipmentCondition condition, String notes) {
-        CheckoutRecord record = checkoutRecordRepository.findById(recordId)
-                .orElseThrow(() -> new IllegalArgumentException("Checkout record not found with id: " + recordId));
-        if (record.getActualReturnDate() != null) {
-            throw new IllegalArgumentException("This equipment has already been returned");
-        }
-        // Update record
-        record.setActualReturnDate(LocalDate.now());
-        record.setConditionAtReturn(condition);
-        record.setReturnNotes(notes);
-        record.setReceivedByManager(manager);
-        checkoutRecordRepository.save(record);
-        // Update equipment
-        Equipment equipment = record.getEquipment();
-        equipment.setStatus(EquipmentStatus.AVAILABLE);
-        equipment.setCondition(condition);
-        equipmentRepository.save(equipment);
-        return record;
+        return returnEquipment(List.of(recordId), manager, condition, notes).get(0);
+    }
+
+    // Return several items at once (e.g. a whole kit)
+    //
+    // Records are closed with a conditional UPDATE (only while still open), so
+    // a duplicate return cannot flip an item that has since been checked out
+    // again. Items are only moved back from CHECKED_OUT, which nothing but a
+    // fulfillment can put them in (EquipmentService.changeStatus refuses it).
+    public List<CheckoutRecord> returnEquipment(List<Long> recordIds, User manager, EquipmentCondition condition, String notes) {
+        List<CheckoutRecord> returned = concurrencyRetry.inTransaction(() -> {
+            Set<Long> ids = new LinkedHashSet<>(recordIds);
+            LocalDateTime now = LocalDateTime.now();
+            int closed = checkoutRecordRepository.markReturned(ids, LocalDate.now(), condition, notes, manager, now);
+            if (closed != ids.size()) {
+                for (Long recordId : ids) {
+                    if (!checkoutRecordRepository.existsById(recordId)) {
+                        throw new IllegalArgumentException("Checkout record not found with id: " + recordId);
+                    }
+                }
+                throw new IllegalArgumentException("This equipment has already been returned");
+            }
+            equipmentRepository.compareAndSetStatus(
+                    checkoutRecordRepository.findEquipmentIds(ids),
+                    EquipmentStatus.CHECKED_OUT, EquipmentStatus.AVAILABLE, condition, now
+            );
+            usageRollups.recordReturns(ids);
+            List<CheckoutRecord> records = withRequestEquipmentItems(checkoutRecordRepository.findDetailedByIdIn(ids));
+            for (CheckoutRecord record : records) {
+                Equipment equipment = record.getEquipment();
+                publish(DomainEvent.Type.RECORD_RETURNED, record.getId(), record.getUser().getId(),
+                        "equipmentId", equipment.getId(), "conditionAtReturn", condition);
+                publish(DomainEvent.Type.EQUIPMENT_STATUS_CHANGED, equipment.getId(), null,
+                        "status", equipment.getStatus(), "condition", equipment.getCondition());
+            }
+            return records;
+        });
+        reservationIndex.removeCheckouts(returned);
+        deadlineScheduler.removeCheckouts(returned);
+        return returned;
     }
 
     // Get all currently checked out items
+    @Transactional(readOnly = true)
     public List<CheckoutRecord> getCurrentlyCheckedOut() {
-        return checkoutRecordRepository.findByActualReturnDateIsNull();
+        return withRequestEquipmentItems(checkoutRecordRepository.findByActualReturnDateIsNull());
     }
 
     // Get user's currently checked out items
+    @Transactional(readOnly = true)
     public List<CheckoutRecord> getUserCurrentCheckouts(User user) {
-        return checkoutRecordRepository.findByUserAndActualReturnDateIsNull(user);
+        return withRequestEquipmentItems(checkoutRecordRepository.findByUserAndActualReturnDateIsNull(user));
     }
 
     // Get checkout history for equipment
+    @Transactional(readOnly = true)
     public List<CheckoutRecord> getEquipmentHistory(Equipment equipment) {
-        return checkoutRecordRepository.findByEquipment(equipment);
+        return withRequestEquipmentItems(checkoutRecordRepository.findByEquipment(equipment));
+    }
+
+    // Publish a domain event; delivered to /api/events subscribers after commit.
+    // keyValues are alternating names and values for the event data (null values are left out)
+    private void publish(DomainEvent.Type type, Long entityId, Long userId, Object... keyValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            if (keyValues[i + 1] != null) {
+                data.put((String) keyValues[i], keyValues[i + 1]);
+            }
+        }
+        eventPublisher.publishEvent(new DomainEvent(type, entityId, userId, data));
+    }
+
+    // Load equipmentItems for every request in the list with one extra query
+    // (must run inside the caller's transaction so the same instances are filled in)
+    private List<CheckoutRequest> withEquipmentItems(List<CheckoutRequest> requests) {
+        if (!requests.isEmpty()) {
+            checkoutRequestRepository.fetchEquipmentItems(
+                    requests.stream().map(CheckoutRequest::getId).toList()
+            );
+        }
+        return requests;
+    }
+
+    // Same as withEquipmentItems, for the requests linked from checkout records
+    private List<CheckoutRecord> withRequestEquipmentItems(List<CheckoutRecord> records) {
+        List<Long> requestIds = records.stream()
+                .map(CheckoutRecord::getCheckoutRequest)
+                .filter(Objects::nonNull)
+                .map(CheckoutRequest::getId)
+                .distinct()
+                .toList();
+        if (!requestIds.isEmpty()) {
+            checkoutRequestRepository.fetchEquipmentItems(requestIds);
+        }
+        return records;
     }
 
 }
@@ -0,0 +1,64 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Component annotation
+@Component
+
+/*
+ * Runs a unit of work in its own transaction and retries it a bounded
+ * number of times when it loses a concurrent update.
+ *
+ * A ConcurrencyFailureException covers both a stale @Version on flush
+ * (optimistic lock) and a deadlock between two conditional UPDATEs on
+ * overlapping rows. Each retry starts a fresh transaction, so the work
+ * re-reads current state; a lost race then usually turns into a normal
+ * IllegalArgumentException ("no longer available", "only pending ...").
+ * After the last attempt the exception is rethrown (mapped to 409).
+ */
+
+// Class definition
+public class ConcurrencyRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    // Constructor
+    public ConcurrencyRetry(PlatformTransactionManager transactionManager,
+                            @Value("${checkout.concurrency.max-attempts:3}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    // Run the work in a new transaction, retrying on concurrent update failures
+    public <T> T inTransaction(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    // Short randomized pause so competing writers do not retry in lockstep
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a concurrent update", e);
+        }
+    }
+
+}
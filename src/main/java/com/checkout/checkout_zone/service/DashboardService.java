@@ -0,0 +1,101 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.DashboardSummary;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.RequestStatus;
+import com.checkout.checkout_zone.repository.CheckoutRequestRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Service annotation
+@Service
+
+/*
+ * Computes dashboard counts with aggregate queries instead of loading rows.
+ *
+ * The result is cached for a short window (checkout.dashboard.cache-ttl,
+ * default 5s) so a burst of page views costs one set of GROUP BY queries.
+ * Counts can therefore lag behind writes by at most that window.
+ */
+
+// Service class for dashboard metrics
+public class DashboardService {
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private CheckoutRequestRepository checkoutRequestRepository;
+
+    @Value("${checkout.dashboard.cache-ttl:5s}")
+    private Duration cacheTtl;
+
+    private volatile DashboardSummary cachedSummary;
+    private volatile long cachedAtNanos;
+
+    // Get the dashboard summary, recomputing it when the cached copy is stale
+    public DashboardSummary getSummary() {
+        DashboardSummary summary = cachedSummary;
+        if (summary != null && System.nanoTime() - cachedAtNanos < cacheTtl.toNanos()) {
+            return summary;
+        }
+        synchronized (this) {
+            // Another thread may have refreshed it while we waited
+            if (cachedSummary != null && System.nanoTime() - cachedAtNanos < cacheTtl.toNanos()) {
+                return cachedSummary;
+            }
+            summary = computeSummary();
+            cachedSummary = summary;
+            cachedAtNanos = System.nanoTime();
+            return summary;
+        }
+    }
+
+    // Run the aggregate queries
+    private DashboardSummary computeSummary() {
+        Map<EquipmentStatus, Long> equipmentByStatus = new EnumMap<>(EquipmentStatus.class);
+        for (EquipmentStatus status : EquipmentStatus.values()) {
+            equipmentByStatus.put(status, 0L);
+        }
+        for (Object[] row : equipmentRepository.countGroupedByStatus()) {
+            if (row[0] != null) {
+                equipmentByStatus.put((EquipmentStatus) row[0], (Long) row[1]);
+            }
+        }
+
+        Map<RequestStatus, Long> requestsByStatus = new EnumMap<>(RequestStatus.class);
+        for (RequestStatus status : RequestStatus.values()) {
+            requestsByStatus.put(status, 0L);
+        }
+        for (Object[] row : checkoutRequestRepository.countGroupedByStatus()) {
+            requestsByStatus.put((RequestStatus) row[0], (Long) row[1]);
+        }
+
+        return new DashboardSummary(
+                equipmentByStatus,
+                requestsByStatus,
+                toCountMap(equipmentRepository.countGroupedByType()),
+                toCountMap(equipmentRepository.countGroupedByLocation()),
+                LocalDateTime.now()
+        );
+    }
+
+    // Turn [key, count] rows into a sorted map
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            String key = row[0] == null ? "Unassigned" : row[0].toString();
+            counts.merge(key, (Long) row[1], Long::sum);
+        }
+        return counts;
+    }
+
+}
@@ -0,0 +1,319 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.DomainEvent;
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.CheckoutRequest;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.RequestStatus;
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.CheckoutRequestRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Component annotation
+@Component
+
+/*
+ * Fires events when dates stored in the database pass.
+ *
+ * Three kinds of deadline are kept in one TimingWheel, keyed by kind and
+ * id: the expected return date of every open checkout, the warranty
+ * expiry of every item (plus a notice warranty-notice-days before it) and
+ * the need-by date of every pending or approved request. A date passes at
+ * the start of the following day, server time. A ticker thread advances
+ * the wheel every "tick", so the cost per deadline is O(1) however many
+ * are waiting, and nothing polls the database.
+ *
+ * Checkouts whose return date has passed move to the overdue list that
+ * GET /api/checkout/records/overdue is served from. When a deadline
+ * passes, a RECORD_OVERDUE, WARRANTY_EXPIRING, WARRANTY_EXPIRED or
+ * REQUEST_STALE event goes out on /api/events.
+ *
+ * Loaded from the database before the web server accepts requests, then
+ * kept in sync by CheckoutService, EquipmentService and
+ * EquipmentImportService after their writes commit. A return can commit
+ * and be applied before the fulfill that opened the record gets to add it,
+ * so returned record ids are remembered for a while and never added back.
+ * Only dates that pass
+ * while the application is running produce events: a checkout that is
+ * already overdue when it is loaded goes straight to the overdue list, and
+ * warranty and need-by dates already behind us are not scheduled. Like the
+ * other in-process indexes this assumes a single application instance.
+ */
+
+// Class definition
+public class DeadlineScheduler implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineScheduler.class);
+    private static final Set<RequestStatus> OPEN_REQUEST_STATUSES = Set.of(RequestStatus.PENDING, RequestStatus.APPROVED);
+
+    // What is due
+    public enum Kind {
+        RETURN_DUE,
+        WARRANTY_NOTICE,
+        WARRANTY_END,
+        NEEDED_BY
+    }
+
+    // A checkout past its expected return date
+    public record OverdueRecord(Long recordId, Long equipmentId, Long userId, LocalDate checkoutDate,
+                                LocalDate expectedReturnDate, long daysOverdue) {}
+
+    // One scheduled date; "id" is the record, item or request id depending on the kind
+    private record Deadline(Kind kind, Long id, Long equipmentId, Long userId, LocalDate startDate, LocalDate date) {}
+
+    private record Key(Kind kind, Long id) {}
+
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+    @Autowired
+    private CheckoutRequestRepository checkoutRequestRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final long tickMillis;
+    private final int warrantyNoticeDays;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TimingWheel<Key, Deadline> wheel;
+    // Overdue checkouts by record id (written under the wheel lock, read without it)
+    private final Map<Long, Deadline> overdue = new ConcurrentHashMap<>();
+    // Ids of records returned lately (only checked and written under the wheel lock)
+    private final Cache<Long, Boolean> returned = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deadline-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Constructor
+    public DeadlineScheduler(PlatformTransactionManager transactionManager,
+                             @Value("${checkout.deadlines.tick:1m}") Duration tick,
+                             @Value("${checkout.deadlines.warranty-notice-days:30}") int warrantyNoticeDays) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tickMillis = tick.toMillis();
+        this.warrantyNoticeDays = warrantyNoticeDays;
+        this.wheel = new TimingWheel<>(currentTick());
+    }
+
+    // Load open checkouts, running warranties and open requests, then start ticking
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDate today = LocalDate.now();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (Object[] row : checkoutRecordRepository.findOpenIndexRows()) {
+                addReturn(new Deadline(Kind.RETURN_DUE, (Long) row[0], (Long) row[1], (Long) row[2],
+                        (LocalDate) row[3], (LocalDate) row[4]));
+            }
+            for (Object[] row : equipmentRepository.findWarrantyRows(today)) {
+                addWarranty((Long) row[0], (LocalDate) row[1]);
+            }
+            for (Object[] row : checkoutRequestRepository.findNeededByRows(OPEN_REQUEST_STATUSES, today)) {
+                addNeededBy((Long) row[0], (Long) row[1], (LocalDate) row[2]);
+            }
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // Overdue checkouts, longest overdue first
+    public List<OverdueRecord> getOverdue() {
+        LocalDate today = LocalDate.now();
+        return overdue.values().stream()
+                .sorted(Comparator.comparing(Deadline::date).thenComparing(Deadline::id))
+                .map(d -> new OverdueRecord(d.id(), d.equipmentId(), d.userId(), d.startDate(), d.date(),
+                        ChronoUnit.DAYS.between(d.date(), today)))
+                .toList();
+    }
+
+    public int getOverdueCount() {
+        return overdue.size();
+    }
+
+    // Deadlines still waiting in the wheel
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    // Track the return dates of newly fulfilled checkouts (skipping any returned in the meantime)
+    public void addCheckouts(Collection<CheckoutRecord> records) {
+        synchronized (wheel) {
+            for (CheckoutRecord record : records) {
+                if (returned.getIfPresent(record.getId()) == null) {
+                    addReturn(new Deadline(Kind.RETURN_DUE, record.getId(), record.getEquipment().getId(),
+                            record.getUser().getId(), record.getCheckoutDate(), record.getExpectedReturnDate()));
+                }
+            }
+        }
+    }
+
+    // Returned checkouts are neither due nor overdue any more
+    public void removeCheckouts(Collection<CheckoutRecord> records) {
+        synchronized (wheel) {
+            for (CheckoutRecord record : records) {
+                returned.put(record.getId(), Boolean.TRUE);
+                wheel.cancel(new Key(Kind.RETURN_DUE, record.getId()));
+                overdue.remove(record.getId());
+            }
+        }
+    }
+
+    // Track the need-by date of a new request
+    public void addRequest(CheckoutRequest request) {
+        if (OPEN_REQUEST_STATUSES.contains(request.getStatus())) {
+            addNeededBy(request.getId(), request.getRequestedBy().getId(), request.getNeededByDate());
+        }
+    }
+
+    // A rejected or fulfilled request can no longer go stale
+    public void removeRequest(Long requestId) {
+        synchronized (wheel) {
+            wheel.cancel(new Key(Kind.NEEDED_BY, requestId));
+        }
+    }
+
+    // (Re)schedule the warranty dates of new or changed items
+    public void addEquipment(Collection<Equipment> equipment) {
+        for (Equipment e : equipment) {
+            removeEquipment(e.getId());
+            addWarranty(e.getId(), e.getWarrantyExpiry());
+        }
+    }
+
+    // Forget a deleted item
+    public void removeEquipment(Long equipmentId) {
+        synchronized (wheel) {
+            wheel.cancel(new Key(Kind.WARRANTY_NOTICE, equipmentId));
+            wheel.cancel(new Key(Kind.WARRANTY_END, equipmentId));
+        }
+    }
+
+    private void addReturn(Deadline deadline) {
+        if (deadline.date() == null) {
+            return;
+        }
+        synchronized (wheel) {
+            // Already overdue: list it, but the moment it became overdue is gone
+            if (!schedule(deadline, deadline.date().plusDays(1))) {
+                overdue.put(deadline.id(), deadline);
+            }
+        }
+    }
+
+    private void addWarranty(Long equipmentId, LocalDate warrantyExpiry) {
+        if (warrantyExpiry == null) {
+            return;
+        }
+        synchronized (wheel) {
+            schedule(new Deadline(Kind.WARRANTY_NOTICE, equipmentId, equipmentId, null, null, warrantyExpiry),
+                    warrantyExpiry.minusDays(warrantyNoticeDays));
+            schedule(new Deadline(Kind.WARRANTY_END, equipmentId, equipmentId, null, null, warrantyExpiry),
+                    warrantyExpiry.plusDays(1));
+        }
+    }
+
+    private void addNeededBy(Long requestId, Long requesterId, LocalDate neededByDate) {
+        if (neededByDate == null) {
+            return;
+        }
+        synchronized (wheel) {
+            schedule(new Deadline(Kind.NEEDED_BY, requestId, null, requesterId, null, neededByDate),
+                    neededByDate.plusDays(1));
+        }
+    }
+
+    // Put a deadline in the wheel to fire at the start of "fireOn"; false if that moment has passed
+    private boolean schedule(Deadline deadline, LocalDate fireOn) {
+        long tick = Math.floorDiv(fireOn.atStartOfDay(zone).toInstant().toEpochMilli(), tickMillis);
+        if (tick <= wheel.getCurrentTick()) {
+            return false;
+        }
+        wheel.schedule(new Key(deadline.kind(), deadline.id()), tick, deadline);
+        return true;
+    }
+
+    // Advance the wheel to now and announce what came due
+    private void tick() {
+        try {
+            List<Deadline> fired;
+            synchronized (wheel) {
+                fired = wheel.advance(currentTick());
+                for (Deadline deadline : fired) {
+                    if (deadline.kind() == Kind.RETURN_DUE) {
+                        overdue.put(deadline.id(), deadline);
+                    }
+                }
+            }
+            fired.forEach(this::publish);
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate task; keep ticking
+            log.warn("Deadline tick failed", e);
+        }
+    }
+
+    private void publish(Deadline deadline) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        DomainEvent.Type type = switch (deadline.kind()) {
+            case RETURN_DUE -> {
+                data.put("equipmentId", deadline.equipmentId());
+                data.put("expectedReturnDate", deadline.date());
+                yield DomainEvent.Type.RECORD_OVERDUE;
+            }
+            case WARRANTY_NOTICE -> {
+                data.put("warrantyExpiry", deadline.date());
+                yield DomainEvent.Type.WARRANTY_EXPIRING;
+            }
+            case WARRANTY_END -> {
+                data.put("warrantyExpiry", deadline.date());
+                yield DomainEvent.Type.WARRANTY_EXPIRED;
+            }
+            case NEEDED_BY -> {
+                data.put("neededByDate", deadline.date());
+                yield DomainEvent.Type.REQUEST_STALE;
+            }
+        };
+        eventPublisher.publishEvent(new DomainEvent(type, deadline.id(), deadline.userId(), data));
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(System.currentTimeMillis(), tickMillis);
+    }
+
+}
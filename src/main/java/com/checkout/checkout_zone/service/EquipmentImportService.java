@@ -0,0 +1,248 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.ImportResult;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Service annotation
+@Service
+
+/*
+ * Streaming bulk import of equipment from CSV or NDJSON.
+ *
+ * Rows are parsed one at a time and collected into chunks of CHUNK_SIZE.
+ * Each chunk is checked against existing internalIds with a single IN
+ * query and inserted with saveAll in its own transaction, so memory use
+ * depends on the chunk size and not on the file size. Duplicates across
+ * chunks are caught because earlier chunks are already committed.
+ *
+ * CSV files need a header row naming Equipment properties (internalId,
+ * name, type, condition, ...); an equipment export is a valid import file.
+ * Both formats go through the same Jackson
+ * mapping and bean-validation constraints as POST /api/equipment.
+ */
+
+// Service class for bulk equipment import
+public class EquipmentImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+    @Autowired
+    private UsageRollupService usageRollups;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Constructor
+    public EquipmentImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Import CSV (with header row)
+    public ImportResult importCsv(InputStream input) throws IOException {
+        ImportResult result = new ImportResult();
+        List<ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                return result;
+            }
+            long row = 0;
+            List<String> values;
+            while ((values = csv.next()) != null) {
+                row++;
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue; // Skip empty lines
+                }
+                Map<String, String> fields = new LinkedHashMap<>();
+                for (int i = 0; i < header.size() && i < values.size(); i++) {
+                    // Drop the formula guard ExportService adds to cells such as "'-fragile"
+                    String value = ExportService.removeFormulaGuard(values.get(i).trim());
+                    fields.put(header.get(i).trim(), value.isEmpty() ? null : value);
+                }
+                addRow(row, () -> objectMapper.convertValue(fields, Equipment.class), chunk, result);
+            }
+        }
+        flushChunk(chunk, result);
+        return result;
+    }
+
+    // Import NDJSON (one Equipment JSON object per line)
+    public ImportResult importNdjson(InputStream input) throws IOException {
+        ImportResult result = new ImportResult();
+        List<ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String json = line;
+                addRow(row, () -> objectMapper.readValue(json, Equipment.class), chunk, result);
+            }
+        }
+        flushChunk(chunk, result);
+        return result;
+    }
+
+    // Parse and validate one row, flushing the chunk when it is full
+    private void addRow(long row, RowParser parser, List<ParsedRow> chunk, ImportResult result) {
+        Equipment equipment;
+        try {
+            equipment = parser.parse();
+        } catch (Exception e) {
+            result.addError(row, null, "Could not parse row: " + e.getMessage(), false);
+            return;
+        }
+        // Same defaults as EquipmentService.createEquipment
+        equipment.setId(null);
+        equipment.setVersion(null);
+        equipment.setStatus(EquipmentStatus.AVAILABLE);
+        Set<ConstraintViolation<Equipment>> violations = validator.validate(equipment);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            result.addError(row, equipment.getInternalId(), message, false);
+            return;
+        }
+        chunk.add(new ParsedRow(row, equipment));
+        if (chunk.size() >= CHUNK_SIZE) {
+            flushChunk(chunk, result);
+        }
+    }
+
+    // De-duplicate a chunk against the database and insert the rest in one transaction
+    private void flushChunk(List<ParsedRow> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(equipmentRepository.findExistingInternalIds(
+                chunk.stream().map(r -> r.equipment.getInternalId()).collect(Collectors.toSet())
+        ));
+        List<ParsedRow> toInsert = new ArrayList<>(chunk.size());
+        for (ParsedRow parsed : chunk) {
+            // add() also catches repeats within the chunk itself
+            if (!existing.add(parsed.equipment.getInternalId())) {
+                result.addError(parsed.row, parsed.equipment.getInternalId(),
+                        "Equipment with internal ID " + parsed.equipment.getInternalId() + " already exists", true);
+            } else {
+                toInsert.add(parsed);
+            }
+        }
+        try {
+            // Items and their ownership rollups commit together
+            List<Equipment> saved = transactionTemplate.execute(status -> {
+                List<Equipment> inserted = equipmentRepository.saveAll(toInsert.stream().map(r -> r.equipment).toList());
+                usageRollups.recordAcquired(inserted.stream().map(Equipment::getId).toList());
+                return inserted;
+            });
+            deadlineScheduler.addEquipment(saved);
+            result.addImported(toInsert.size());
+        } catch (DataAccessException e) {
+            // e.g. a concurrent insert of the same internalId; the whole chunk is rolled back
+            for (ParsedRow parsed : toInsert) {
+                result.addError(parsed.row, parsed.equipment.getInternalId(),
+                        "Chunk insert failed: " + e.getMostSpecificCause().getMessage(), false);
+            }
+        }
+        chunk.clear();
+    }
+
+    // A validated row waiting in the current chunk
+    private record ParsedRow(long row, Equipment equipment) {}
+
+    @FunctionalInterface
+    private interface RowParser {
+        Equipment parse() throws Exception;
+    }
+
+    // Minimal RFC 4180 reader: quoted fields may contain commas, quotes ("") and newlines
+    private static class CsvRecordReader {
+        private final Reader reader;
+        private boolean eof;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Next record, or null at end of input
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean sawAny = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                sawAny = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            eof = true;
+            if (!sawAny) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+}
@@ -1,22 +1,63 @@
 package com.checkout.checkout_zone.service;
 
 // Import statements
+import com.checkout.checkout_zone.dto.DomainEvent;
 import com.checkout.checkout_zone.entity.Equipment;
 import com.checkout.checkout_zone.entity.EquipmentStatus;
 import com.checkout.checkout_zone.repository.EquipmentRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 // Service annotation
 @Service
+@Timed(value = "checkout.service", histogram = true)
 
 // Service class for equipment management
 public class EquipmentService {
 
+    // Status changes allowed through changeStatus
+    private static final Map<EquipmentStatus, Set<EquipmentStatus>> STATUS_TRANSITIONS = Map.of(
+            EquipmentStatus.AVAILABLE, Set.of(EquipmentStatus.IN_MAINTENANCE, EquipmentStatus.RETIRED),
+            EquipmentStatus.IN_MAINTENANCE, Set.of(EquipmentStatus.AVAILABLE, EquipmentStatus.RETIRED)
+    );
+
+    // Search results per request
+    public static final int SEARCH_DEFAULT_LIMIT = 20;
+    public static final int SEARCH_MAX_LIMIT = 100;
+
     @Autowired
     private EquipmentRepository equipmentRepository;
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+    @Autowired
+    private UsageRollupService usageRollups;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Constructor
+    public EquipmentService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     // Create new equipment
     public Equipment createEquipment(Equipment equipment) {
@@ -24,56 +65,160 @@ public class EquipmentService {
         if (equipmentRepository.existsByInternalId(equipment.getInternalId())) {
             throw new IllegalArgumentException("Equipment with internal ID " + equipment.getInternalId() + " already exists");
         }
-        // Set default status if not provided
-        if (equipment.getStatus() == null) {
-            equipment.setStatus(EquipmentStatus.AVAILABLE);
-        }
-        return equipmentRepository.save(equipment);
+        // New items always start available; other statuses are reached through changeStatus, checkout and return
+        equipment.setStatus(EquipmentStatus.AVAILABLE);
+        // New rows always start at version 0, whatever the client sent
+        equipment.setVersion(null);
+        // The item and its ownership rollup commit together
+        Equipment saved = transactionTemplate.execute(status -> {
+            Equipment inserted = equipmentRepository.save(equipment);
+            usageRollups.recordAcquired(List.of(inserted.getId()));
+            eventPublisher.publishEvent(new DomainEvent(DomainEvent.Type.EQUIPMENT_CREATED, inserted.getId(), null,
+                    Map.of("status", inserted.getStatus(), "type", inserted.getType())));
+            return inserted;
+        });
+        deadlineScheduler.addEquipment(List.of(saved));
+        return saved;
     }
 
     // Get all equipment
+    @Transactional(readOnly = true)
     public List<Equipment> getAllEquipment() {
         return equipmentRepository.findAll();
     }
 
+    // Get one keyset page of equipment, ordered by id, with optional filters
+    @Transactional(readOnly = true)
+    public List<Equipment> getEquipmentPage(EquipmentStatus status, String type, String location, Long afterId, int limit) {
+        Specification<Equipment> spec = Specification.allOf(
+                afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), afterId),
+                status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status),
+                type == null ? null : (root, query, cb) -> cb.equal(root.get("type"), type),
+                location == null ? null : (root, query, cb) -> cb.equal(root.get("location"), location)
+        );
+        // Fetch one extra row so the caller can tell whether there is a next page
+        return equipmentRepository.findBy(spec, q -> q.sortBy(Sort.by("id")).limit(limit + 1).all());
+    }
+
+    // Ranked full-text / type-ahead search, best match first.
+    // Items matching any query word are found; the last word also matches as a prefix ("mac" finds "macbook").
+    @Transactional(readOnly = true)
+    public List<Equipment> searchEquipment(String query, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(searchWords(query)));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        words.set(words.size() - 1, words.getLast() + ":*");
+        return equipmentRepository.search(String.join(" | ", words), limit);
+    }
+
     // Get equipment by ID
+    @Transactional(readOnly = true)
     public Optional<Equipment> getEquipmentById(Long id) {
         return equipmentRepository.findById(id);
     }
 
+    // Get several pieces of equipment in one query (missing ids are left out)
+    @Transactional(readOnly = true)
+    public List<Equipment> getEquipmentByIds(Collection<Long> ids) {
+        return equipmentRepository.findAllById(ids);
+    }
+
     // Get available equipment
+    @Transactional(readOnly = true)
     public List<Equipment> getAvailableEquipment() {
         return equipmentRepository.findByStatus(EquipmentStatus.AVAILABLE);
     }
 
     // Get equipment by type
+    @Transactional(readOnly = true)
     public List<Equipment> getEquipmentByType(String type) {
         return equipmentRepository.findByType(type);
     }
 
     // Update equipment
     public Equipment updateEquipment(Long id, Equipment updatedEquipment) {
-        Equipment existing = equipmentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + id));
-        // Update fields
-        existing.setName(updatedEquipment.getName());
-        existing.setModel(updatedEquipment.getModel());
-        existing.setBrand(updatedEquipment.getBrand());
-        existing.setType(updatedEquipment.getType());
-        existing.setCondition(updatedEquipment.getCondition());
-        existing.setStatus(updatedEquipment.getStatus());
-        existing.setLocation(updatedEquipment.getLocation());
-        existing.setCurrentValue(updatedEquipment.getCurrentValue());
-        existing.setNotes(updatedEquipment.getNotes());
-        return equipmentRepository.save(existing);
+        // The row and any type move in the rollups commit together
+        Equipment saved = transactionTemplate.execute(status -> {
+            Equipment existing = equipmentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + id));
+            // The client edited what it read at this version; anything newer would be overwritten
+            if (!Objects.equals(updatedEquipment.getVersion(), existing.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Equipment.class, id);
+            }
+            String previousType = existing.getType();
+            // Update fields (status only moves through changeStatus, checkout and return)
+            existing.setName(updatedEquipment.getName());
+            existing.setModel(updatedEquipment.getModel());
+            existing.setBrand(updatedEquipment.getBrand());
+            existing.setType(updatedEquipment.getType());
+            existing.setCondition(updatedEquipment.getCondition());
+            existing.setLocation(updatedEquipment.getLocation());
+            existing.setCurrentValue(updatedEquipment.getCurrentValue());
+            existing.setNotes(updatedEquipment.getNotes());
+            Equipment updated = equipmentRepository.save(existing);
+            usageRollups.recordTypeChange(previousType, updated.getType());
+            eventPublisher.publishEvent(new DomainEvent(DomainEvent.Type.EQUIPMENT_UPDATED, updated.getId(), null,
+                    Map.of("status", updated.getStatus(), "condition", updated.getCondition())));
+            return updated;
+        });
+        deadlineScheduler.addEquipment(List.of(saved));
+        return saved;
+    }
+
+    // Admin/manager status change: AVAILABLE <-> IN_MAINTENANCE, and either of them -> RETIRED.
+    // CHECKED_OUT is only entered and left through checkout and return. The move is a
+    // compare-and-set from the status just read, so losing a race to a checkout is a 409.
+    public Equipment changeStatus(Long id, EquipmentStatus to) {
+        return transactionTemplate.execute(status -> {
+            // Only the status is read first, so the entity loaded below is not a stale copy from before the update
+            EquipmentStatus from = equipmentRepository.findStatusById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + id));
+            if (to == null || !STATUS_TRANSITIONS.getOrDefault(from, Set.of()).contains(to)) {
+                throw new IllegalArgumentException("Equipment cannot move from " + from + " to " + to);
+            }
+            if (equipmentRepository.compareAndSetStatus(List.of(id), from, to, LocalDateTime.now()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Equipment.class, id);
+            }
+            Equipment updated = equipmentRepository.findById(id).orElseThrow();
+            eventPublisher.publishEvent(new DomainEvent(DomainEvent.Type.EQUIPMENT_STATUS_CHANGED, id, null,
+                    Map.of("status", updated.getStatus(), "condition", updated.getCondition())));
+            return updated;
+        });
     }
 
     // Delete equipment
     public void deleteEquipment(Long id) {
-        if (!equipmentRepository.existsById(id)) {
-            throw new IllegalArgumentException("Equipment not found with id: " + id);
+        // The delete and the ownership rollup commit together
+        transactionTemplate.execute(status -> {
+            Equipment existing = equipmentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + id));
+            equipmentRepository.delete(existing);
+            usageRollups.recordRemoved(existing);
+            eventPublisher.publishEvent(new DomainEvent(DomainEvent.Type.EQUIPMENT_DELETED, id, null, Map.of()));
+            return null;
+        });
+        deadlineScheduler.removeEquipment(id);
+    }
+
+    // Lowercase runs of letters and digits (safe to put in a tsquery as they are)
+    private static List<String> searchWords(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
         }
-        equipmentRepository.deleteById(id);
+        return words;
     }
 
 }
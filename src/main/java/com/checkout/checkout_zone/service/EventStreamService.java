@@ -0,0 +1,250 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.DomainEvent;
+import com.checkout.checkout_zone.entity.Role;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Service annotation
+@Service
+
+/*
+ * Fans committed domain events out to Server-Sent Event connections.
+ *
+ * Events arrive after commit (a rolled back or retried write never
+ * publishes anything), get the next id and go into a bounded history of
+ * the last history-size events. Every connection has its own queue of at
+ * most buffer-size events, drained by its own virtual thread, so a slow
+ * client never holds up the writer or other clients. A connection whose
+ * queue overflows is closed; the client reconnects with Last-Event-ID and
+ * catches up from the history.
+ *
+ * Ids look like "<stream>-<seq>", where <stream> changes on every restart.
+ * If a Last-Event-ID is from another stream or older than the history,
+ * the client gets a "resync" event and should reload its lists once.
+ *
+ * Plain users only see catalog events and events about their own requests
+ * and checkouts; managers and admins see everything.
+ */
+
+// Service class for the live event stream
+public class EventStreamService {
+
+    private static final String RESYNC = "resync";
+
+    @Value("${checkout.events.buffer-size:256}")
+    private int bufferSize;
+    @Value("${checkout.events.history-size:1000}")
+    private int historySize;
+    @Value("${checkout.events.timeout:30m}")
+    private Duration timeout;
+
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<StoredEvent> history = new ArrayDeque<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long sequence;
+
+    // Constructor
+    public EventStreamService(@Value("${checkout.events.heartbeat:25s}") Duration heartbeat) {
+        // A comment line now and then keeps proxies from closing idle connections
+        heartbeats.scheduleAtFixedRate(() -> subscriptions.forEach(s -> s.offer(SseEmitter.event().comment("ping"))),
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Open a stream for this user, replaying what they missed since lastEventId (may be null)
+    public SseEmitter subscribe(UserPrincipal principal, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, principal.getId(), principal.getUser().getRole());
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+
+        List<StoredEvent> replay = new ArrayList<>();
+        // Replay is queued and the connection registered under the history lock,
+        // which live events are also queued under: nothing published in between
+        // is missed or sent twice, and no live event gets ahead of the replay
+        synchronized (history) {
+            boolean resync = collectReplay(lastEventId, subscription, replay);
+            if (resync || replay.size() > bufferSize) {
+                subscription.offer(SseEmitter.event().name(RESYNC).id(currentId()).data("{}", MediaType.APPLICATION_JSON));
+            } else {
+                replay.forEach(event -> subscription.offer(toSse(event)));
+            }
+            subscriptions.add(subscription);
+        }
+        return emitter;
+    }
+
+    // Called after the publishing transaction commits (or right away outside a transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        // Queued under the history lock, so every connection gets events in id order
+        // and a subscribe() in progress gets its replay queued first (offer never blocks)
+        synchronized (history) {
+            StoredEvent stored = new StoredEvent(++sequence, event);
+            history.addLast(stored);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscription subscription : subscriptions) {
+                if (subscription.canSee(event)) {
+                    subscription.offer(toSse(stored));
+                }
+            }
+        }
+    }
+
+    // Number of open connections
+    public int getConnectionCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(s -> s.emitter.complete());
+        senders.shutdown();
+    }
+
+    // Fill "replay" with visible events after lastEventId; true if the client must resync instead
+    private boolean collectReplay(String lastEventId, Subscription subscription, List<StoredEvent> replay) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return false;
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(streamId)) {
+            return true;
+        }
+        long lastSeq;
+        try {
+            lastSeq = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        // The event right after lastSeq must still be in the history
+        long oldest = history.isEmpty() ? sequence + 1 : history.getFirst().seq;
+        if (lastSeq > sequence || lastSeq + 1 < oldest) {
+            return true;
+        }
+        for (StoredEvent event : history) {
+            if (event.seq > lastSeq && subscription.canSee(event.event)) {
+                replay.add(event);
+            }
+        }
+        return false;
+    }
+
+    private String currentId() {
+        synchronized (history) {
+            return streamId + "-" + sequence;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(StoredEvent stored) {
+        return SseEmitter.event()
+                .id(streamId + "-" + stored.seq)
+                .name(stored.event.getType().name())
+                .data(stored.event, MediaType.APPLICATION_JSON);
+    }
+
+    private record StoredEvent(long seq, DomainEvent event) {}
+
+    // One open connection with its own bounded send queue
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final boolean seesEverything;
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closing;
+
+        Subscription(SseEmitter emitter, Long userId, Role role) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.seesEverything = role == Role.EQUIPMENT_MANAGER || role == Role.ADMIN;
+        }
+
+        boolean canSee(DomainEvent event) {
+            return seesEverything || event.getUserId() == null || Objects.equals(event.getUserId(), userId);
+        }
+
+        // Queue an event without blocking; overflow closes the connection
+        void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closing) {
+                    return;
+                }
+                if (queue.size() >= bufferSize) {
+                    closing = true;
+                    queue.clear();
+                } else {
+                    queue.addLast(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        // Send queued events in order until the queue is empty
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                boolean close;
+                synchronized (this) {
+                    next = queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                    }
+                    close = next == null && closing;
+                }
+                if (next == null) {
+                    if (close) {
+                        subscriptions.remove(this);
+                        emitter.complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    synchronized (this) {
+                        closing = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                    subscriptions.remove(this);
+                    return;
+                }
+            }
+        }
+    }
+
+}
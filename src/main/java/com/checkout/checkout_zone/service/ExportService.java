@@ -0,0 +1,210 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.CheckoutRecordExportRow;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Service annotation
+@Service
+
+/*
+ * Streams checkout history and inventory as CSV or NDJSON.
+ *
+ * Rows come from forward-only repository streams (fetch size 500) inside
+ * a read-only transaction and are written to the response as they arrive,
+ * flushing every FLUSH_EVERY rows. Checkout records are read as flat
+ * projection rows; equipment entities are detached after writing, so the
+ * persistence context never grows. Memory use is the same for 10k or 10M rows.
+ *
+ * The equipment CSV columns match the bulk import format. Text a
+ * spreadsheet would run as a formula gets a leading ' (see writeCsvRow),
+ * which the import strips again, so an export imports back unchanged.
+ */
+
+// Service class for data exports
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    // First characters that make a spreadsheet treat a cell as a formula
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    private static final List<String> RECORD_COLUMNS = List.of(
+            "id", "checkoutRequestId", "userId", "username", "department",
+            "equipmentId", "equipmentInternalId", "equipmentName", "equipmentType",
+            "checkoutDate", "expectedReturnDate", "actualReturnDate",
+            "conditionAtCheckout", "conditionAtReturn", "checkedOutBy", "receivedBy", "returnNotes"
+    );
+
+    private static final List<String> EQUIPMENT_COLUMNS = List.of(
+            "id", "internalId", "serialNumber", "name", "model", "brand", "type",
+            "condition", "status", "location", "acquisitionDate", "purchasePrice",
+            "currentValue", "warrantyExpiry", "notes", "imageUrl"
+    );
+
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Constructor
+    public ExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Export all checkout records
+    public void exportCheckoutRecords(boolean csv, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (csv) {
+            writeCsvRow(writer, RECORD_COLUMNS);
+        }
+        streamInTransaction(() -> checkoutRecordRepository.streamExportRows(), row -> {
+            if (csv) {
+                writeCsvRow(writer, toCsvValues(row));
+            } else {
+                writeJsonLine(writer, row);
+            }
+        }, writer);
+        writer.flush();
+    }
+
+    // Export the whole inventory
+    public void exportEquipment(boolean csv, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (csv) {
+            writeCsvRow(writer, EQUIPMENT_COLUMNS);
+        }
+        streamInTransaction(() -> equipmentRepository.streamAllForExport(), equipment -> {
+            if (csv) {
+                writeCsvRow(writer, toCsvValues(equipment));
+            } else {
+                writeJsonLine(writer, equipment);
+            }
+            // Keep the persistence context empty while streaming
+            entityManager.detach(equipment);
+        }, writer);
+        writer.flush();
+    }
+
+    // Open the stream in a read-only transaction and write every row
+    private <T> void streamInTransaction(Supplier<Stream<T>> source, RowWriter<T> rowWriter, Writer writer) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = source.get()) {
+                    long count = 0;
+                    Iterator<T> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        rowWriter.write(iterator.next());
+                        if (++count % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; surface it as the original IOException
+            throw e.getCause();
+        }
+    }
+
+    private void writeJsonLine(Writer writer, Object value) throws IOException {
+        writer.write(objectMapper.writeValueAsString(value));
+        writer.write('\n');
+    }
+
+    private List<Object> toCsvValues(CheckoutRecordExportRow row) {
+        return Arrays.asList(
+                row.getId(), row.getCheckoutRequestId(), row.getUserId(), row.getUsername(), row.getDepartment(),
+                row.getEquipmentId(), row.getEquipmentInternalId(), row.getEquipmentName(), row.getEquipmentType(),
+                row.getCheckoutDate(), row.getExpectedReturnDate(), row.getActualReturnDate(),
+                row.getConditionAtCheckout(), row.getConditionAtReturn(),
+                row.getCheckedOutBy(), row.getReceivedBy(), row.getReturnNotes()
+        );
+    }
+
+    private List<Object> toCsvValues(Equipment e) {
+        return Arrays.asList(
+                e.getId(), e.getInternalId(), e.getSerialNumber(), e.getName(), e.getModel(), e.getBrand(), e.getType(),
+                e.getCondition(), e.getStatus(), e.getLocation(), e.getAcquisitionDate(), e.getPurchasePrice(),
+                e.getCurrentValue(), e.getWarrantyExpiry(), e.getNotes(), e.getImageUrl()
+        );
+    }
+
+    // Write one CSV row, quoting values that contain separators, quotes or newlines.
+    // Text starting with =, +, - or @ (or a tab or carriage return) gets a leading ' so
+    // spreadsheets show it instead of running it as a formula; numbers are left alone.
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (value instanceof CharSequence && needsFormulaGuard(text)) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write('\n');
+    }
+
+    // True for text starting with a formula character, also behind apostrophes it already had,
+    // so "'=x" is exported as "''=x" and removeFormulaGuard can tell the two apart
+    static boolean needsFormulaGuard(String text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) == '\'') {
+            i++;
+        }
+        return i < text.length() && FORMULA_START.indexOf(text.charAt(i)) >= 0;
+    }
+
+    // Undo the ' added by writeCsvRow (for EquipmentImportService)
+    static String removeFormulaGuard(String text) {
+        return text.startsWith("'") && needsFormulaGuard(text.substring(1)) ? text.substring(1) : text;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+}
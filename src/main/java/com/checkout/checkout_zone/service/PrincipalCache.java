@@ -0,0 +1,98 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+// Service annotation
+@Service
+
+/*
+ * Bounded, TTL-based cache of authenticated principals and verified credentials.
+ *
+ * HTTP Basic sends the password on every call, which used to cost one
+ * user query plus a full BCrypt check per request. Principals are cached
+ * by username (also used as Spring Security's UserCache), and after a
+ * successful BCrypt check we remember an HMAC of the raw password, keyed
+ * with a random per-process secret, together with the hash it matched.
+ * A later request with the same password and an unchanged hash skips
+ * BCrypt. The raw password itself is never stored.
+ *
+ * UserService evicts a user on update, deactivation and deletion; the TTL
+ * bounds staleness for changes made by other instances.
+ */
+
+// Service class for principal caching
+public class PrincipalCache implements UserCache {
+
+    private final Cache<String, UserDetails> principals;
+    private final Cache<String, VerifiedCredential> credentials;
+    private final byte[] hmacKey = new byte[32];
+
+    // Constructor
+    public PrincipalCache(
+            @Value("${checkout.security.principal-cache.ttl:1m}") Duration ttl,
+            @Value("${checkout.security.principal-cache.max-size:10000}") long maxSize) {
+        this.principals = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        this.credentials = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build();
+        new SecureRandom().nextBytes(hmacKey);
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return principals.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        principals.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        evict(username);
+    }
+
+    // Drop everything cached for a user (called on user writes)
+    public void evict(String username) {
+        principals.invalidate(username);
+        credentials.invalidate(username);
+    }
+
+    // True if this raw password was already verified against this exact hash
+    public boolean isVerified(String username, String rawPassword, String passwordHash) {
+        VerifiedCredential cached = credentials.getIfPresent(username);
+        return cached != null
+                && cached.passwordHash.equals(passwordHash)
+                && MessageDigest.isEqual(cached.digest, digest(rawPassword));
+    }
+
+    // Remember a successful BCrypt verification
+    public void markVerified(String username, String rawPassword, String passwordHash) {
+        credentials.put(username, new VerifiedCredential(passwordHash, digest(rawPassword)));
+    }
+
+    private byte[] digest(String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(hmacKey, "HmacSHA256"));
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private record VerifiedCredential(String passwordHash, byte[] digest) {}
+
+}
@@ -0,0 +1,150 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Service annotation
+@Service
+
+/*
+ * Single-flight for hot read endpoints.
+ *
+ * Callers asking for the same key while a computation for it is running
+ * wait for that computation and share its result instead of starting their
+ * own. A finished result is handed out for one more freshness window
+ * (checkout.coalescing.window, default 200ms), so a burst of clients
+ * costs one run per window however many of them arrive. Results can lag
+ * behind writes by the window plus one computation.
+ *
+ * coalesceJson() shares the serialized body too, so Jackson runs once per
+ * flight. Endpoints with an ETag coalesce the tag lookup on its own, answer
+ * a match with 304 before any body work, and only then coalesce the body
+ * under a key that includes the tag: the body is read after the tag, so a
+ * tag never claims a body newer than itself (a client revalidating with it
+ * just gets the body again). A failure is passed to everyone waiting on
+ * that flight and is not kept; the next caller starts a new one. Finished
+ * flights past their window are dropped whenever a new one starts, so keys
+ * for old tags do not pile up.
+ */
+
+// Service class for request coalescing
+public class RequestCoalescer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final long windowNanos;
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    // One computation and when it finished (0 while running)
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAtNanos;
+    }
+
+    // Constructor
+    public RequestCoalescer(@Value("${checkout.coalescing.window:200ms}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    // Result for key: joins a running or just-finished computation, or runs this one
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String key, Supplier<T> computation) {
+        while (true) {
+            Flight current = flights.get(key);
+            if (current != null && isUsable(current)) {
+                shared.increment();
+                return (T) join(current);
+            }
+            Flight flight = new Flight();
+            boolean claimed = current == null
+                    ? flights.putIfAbsent(key, flight) == null
+                    : flights.replace(key, current, flight);
+            if (!claimed) {
+                // Someone else started a flight first; join it on the next pass
+                continue;
+            }
+            computed.increment();
+            flights.values().removeIf(other -> other != flight && isExpired(other));
+            try {
+                T value = computation.get();
+                flight.completedAtNanos = System.nanoTime();
+                flight.result.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flights.remove(key, flight);
+                flight.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    // Serialized JSON of the computation's result, as one shared flight
+    public byte[] coalesceJson(String key, Supplier<?> computation) {
+        return coalesce(key, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(computation.get());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize " + key, e);
+            }
+        });
+    }
+
+    // Requests that ran a computation
+    public long getComputedCount() {
+        return computed.sum();
+    }
+
+    // Keys with a running or remembered flight
+    public int getFlightCount() {
+        return flights.size();
+    }
+
+    // Requests that reused another request's result
+    public long getSharedCount() {
+        return shared.sum();
+    }
+
+    // Finished, and past the window (or failed)
+    private boolean isExpired(Flight flight) {
+        return flight.result.isDone() && !isUsable(flight);
+    }
+
+    // Still running, or finished successfully within the window
+    private boolean isUsable(Flight flight) {
+        if (!flight.result.isDone()) {
+            return true;
+        }
+        return !flight.result.isCompletedExceptionally()
+                && System.nanoTime() - flight.completedAtNanos < windowNanos;
+    }
+
+    // Wait for a flight, rethrowing its failure as it was thrown
+    private static Object join(Flight flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.Reservation;
+import com.checkout.checkout_zone.entity.ReservationStatus;
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Component annotation
+@Component
+
+/*
+ * In-memory per-equipment booking calendar.
+ *
+ * Each piece of equipment gets an IntervalTree holding its active
+ * reservations and its open checkout (checkoutDate to expectedReturnDate,
+ * open-ended if no date was given). Conflict checks and "is this item free
+ * between D1 and D2" are O(log n) in the number of bookings for that item,
+ * and never touch the reservations or checkout_records tables.
+ *
+ * The trees are rebuilt from the database once all beans are ready (before
+ * the web server accepts requests) and kept in sync by ReservationService
+ * and CheckoutService after their transactions commit. Both book through
+ * the item's tree lock (reserve, checkOut), held until the new booking is
+ * indexed, so a reservation and a checkout cannot both pass their conflict
+ * checks. Reservations that have ended are dropped every prune-interval.
+ * Like the other in-process caches this assumes a single application
+ * instance; the reservations table also refuses overlapping active
+ * reservations (V8) as a backstop.
+ */
+
+// Class definition
+public class ReservationIndex implements SmartInitializingSingleton {
+
+    // What a booked range is
+    public enum Kind {
+        RESERVATION,
+        CHECKOUT
+    }
+
+    // One booked range; a null end means "until returned"
+    public record Booking(Kind kind, Long id, Long equipmentId, Long userId, LocalDate startDate, LocalDate endDate) {}
+
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentHashMap<Long, IntervalTree<Booking>> trees = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-prune");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Constructor
+    public ReservationIndex(PlatformTransactionManager transactionManager,
+                            @Value("${checkout.reservations.prune-interval:1h}") Duration pruneInterval) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        pruner.scheduleWithFixedDelay(() -> pruneEnded(LocalDate.now()),
+                pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    // Load active reservations that have not ended yet, and every open checkout
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (Object[] row : reservationRepository.findIndexRows(ReservationStatus.ACTIVE, LocalDate.now())) {
+                add(new Booking(Kind.RESERVATION, (Long) row[0], (Long) row[1], (Long) row[2],
+                        (LocalDate) row[3], (LocalDate) row[4]));
+            }
+            for (Object[] row : checkoutRecordRepository.findOpenIndexRows()) {
+                add(new Booking(Kind.CHECKOUT, (Long) row[0], (Long) row[1], (Long) row[2],
+                        (LocalDate) row[3], (LocalDate) row[4]));
+            }
+        });
+    }
+
+    // True if nothing is booked on this item anywhere in [from, to]
+    public boolean isFree(Long equipmentId, LocalDate from, LocalDate to) {
+        IntervalTree<Booking> tree = trees.get(equipmentId);
+        if (tree == null) {
+            return true;
+        }
+        synchronized (tree) {
+            return !tree.overlaps(from.toEpochDay(), to.toEpochDay());
+        }
+    }
+
+    // Bookings on this item overlapping [from, to], in start order
+    public List<Booking> getBookings(Long equipmentId, LocalDate from, LocalDate to) {
+        return findOverlapping(equipmentId, from.toEpochDay(), to.toEpochDay());
+    }
+
+    // First booking on any of these items in [from, to] that belongs to someone else, or null.
+    // A null "to" is open-ended, the same range an open checkout is indexed with.
+    public Booking findConflict(Collection<Long> equipmentIds, Long userId, LocalDate from, LocalDate to) {
+        long end = to == null ? OPEN_END : to.toEpochDay();
+        for (Long equipmentId : equipmentIds) {
+            for (Booking booking : findOverlapping(equipmentId, from.toEpochDay(), end)) {
+                if (!Objects.equals(booking.userId(), userId)) {
+                    return booking;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Check for a conflict and, if there is none, save and index the reservation.
+    // The item's tree stays locked while saving, so two overlapping bookings
+    // for the same item cannot both pass the check.
+    public Reservation reserve(Long equipmentId, LocalDate from, LocalDate to, Supplier<Reservation> save) {
+        IntervalTree<Booking> tree = trees.computeIfAbsent(equipmentId, id -> new IntervalTree<>());
+        synchronized (tree) {
+            if (tree.overlaps(from.toEpochDay(), to.toEpochDay())) {
+                throw new IllegalArgumentException("Equipment is already booked in that period");
+            }
+            Reservation reservation = save.get();
+            insert(tree, toBooking(reservation));
+            return reservation;
+        }
+    }
+
+    // Fulfill a checkout of these items and index it with all their trees locked,
+    // so no reservation can land between its conflict check (findConflict, inside
+    // the fulfill) and the checkout being indexed. Locks go in id order, so two
+    // checkouts sharing items cannot deadlock.
+    public List<CheckoutRecord> checkOut(Collection<Long> equipmentIds, Supplier<List<CheckoutRecord>> fulfill) {
+        List<IntervalTree<Booking>> locked = new TreeSet<>(equipmentIds).stream()
+                .map(id -> trees.computeIfAbsent(id, k -> new IntervalTree<>()))
+                .toList();
+        return checkOut(locked, 0, fulfill);
+    }
+
+    // Drop a cancelled reservation
+    public void removeReservation(Reservation reservation) {
+        remove(toBooking(reservation));
+    }
+
+    // Track newly fulfilled checkouts
+    public void addCheckouts(Collection<CheckoutRecord> records) {
+        for (CheckoutRecord record : records) {
+            add(toBooking(record));
+        }
+    }
+
+    // Free the range of returned checkouts
+    public void removeCheckouts(Collection<CheckoutRecord> records) {
+        for (CheckoutRecord record : records) {
+            remove(toBooking(record));
+        }
+    }
+
+    // Drop reservations that ended before this day (open checkouts stay until returned)
+    void pruneEnded(LocalDate today) {
+        long lastEnded = today.toEpochDay() - 1;
+        for (IntervalTree<Booking> tree : trees.values()) {
+            synchronized (tree) {
+                for (Booking booking : tree.findOverlapping(Long.MIN_VALUE, lastEnded)) {
+                    if (booking.kind() == Kind.RESERVATION && booking.endDate().toEpochDay() <= lastEnded) {
+                        tree.remove(booking.startDate().toEpochDay(), key(booking));
+                    }
+                }
+            }
+        }
+    }
+
+    private List<CheckoutRecord> checkOut(List<IntervalTree<Booking>> locked, int next,
+                                          Supplier<List<CheckoutRecord>> fulfill) {
+        if (next == locked.size()) {
+            List<CheckoutRecord> records = fulfill.get();
+            addCheckouts(records);
+            return records;
+        }
+        synchronized (locked.get(next)) {
+            return checkOut(locked, next + 1, fulfill);
+        }
+    }
+
+    private List<Booking> findOverlapping(Long equipmentId, long from, long to) {
+        IntervalTree<Booking> tree = trees.get(equipmentId);
+        if (tree == null) {
+            return List.of();
+        }
+        synchronized (tree) {
+            return tree.findOverlapping(from, to);
+        }
+    }
+
+    private Booking toBooking(Reservation reservation) {
+        return new Booking(Kind.RESERVATION, reservation.getId(), reservation.getEquipment().getId(),
+                reservation.getReservedBy().getId(), reservation.getStartDate(), reservation.getEndDate());
+    }
+
+    private Booking toBooking(CheckoutRecord record) {
+        return new Booking(Kind.CHECKOUT, record.getId(), record.getEquipment().getId(),
+                record.getUser().getId(), record.getCheckoutDate(), record.getExpectedReturnDate());
+    }
+
+    private void add(Booking booking) {
+        IntervalTree<Booking> tree = trees.computeIfAbsent(booking.equipmentId(), id -> new IntervalTree<>());
+        synchronized (tree) {
+            insert(tree, booking);
+        }
+    }
+
+    private void remove(Booking booking) {
+        IntervalTree<Booking> tree = trees.get(booking.equipmentId());
+        if (tree == null) {
+            return;
+        }
+        synchronized (tree) {
+            tree.remove(booking.startDate().toEpochDay(), key(booking));
+        }
+    }
+
+    private static void insert(IntervalTree<Booking> tree, Booking booking) {
+        long end = booking.endDate() == null ? OPEN_END : booking.endDate().toEpochDay();
+        tree.insert(booking.startDate().toEpochDay(), end, key(booking), booking);
+    }
+
+    // Reservation and checkout ids come from different sequences; keep them apart in one tree
+    private static long key(Booking booking) {
+        return booking.kind() == Kind.RESERVATION ? booking.id() : -booking.id();
+    }
+
+}
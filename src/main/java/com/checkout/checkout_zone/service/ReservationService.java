@@ -0,0 +1,139 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.entity.*;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.checkout.checkout_zone.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+
+// Service annotation
+@Service
+
+/*
+ * Date-ranged bookings of single items.
+ *
+ * Conflicts are checked against ReservationIndex, not the database. A new
+ * reservation is checked and saved with the item's index lock held
+ * (ReservationIndex.reserve): the transaction commits inside the lock and
+ * the booking is indexed before it is released, so two overlapping
+ * reservations, or a reservation and a checkout, cannot both pass the
+ * check. Cancellations are dropped from the index after they commit.
+ *
+ * If the index ever misses a booking (another instance, or a row written
+ * outside the application), the ex_reservations_no_overlap exclusion
+ * constraint (V8) still refuses an overlapping active reservation; that
+ * violation is reported like any other conflict.
+ */
+
+// Service class for date-ranged reservations
+public class ReservationService {
+
+    // Autowired repositories
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private ReservationIndex reservationIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Constructor
+    public ReservationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Book one item for [startDate, endDate] (both inclusive)
+    public Reservation createReservation(User user, Long equipmentId, LocalDate startDate, LocalDate endDate, String purpose) {
+        validateRange(startDate, endDate);
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Reservations cannot start in the past");
+        }
+        // Saved inside the index lock for this item, and indexed only once committed
+        try {
+            return reservationIndex.reserve(equipmentId, startDate, endDate, () -> transactionTemplate.execute(status -> {
+                Equipment equipment = equipmentRepository.findById(equipmentId)
+                        .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + equipmentId));
+                if (!isBookable(equipment)) {
+                    throw new IllegalArgumentException("Equipment " + equipment.getName() + " cannot be reserved");
+                }
+                Reservation reservation = new Reservation();
+                reservation.setEquipment(equipment);
+                reservation.setReservedBy(user);
+                reservation.setStartDate(startDate);
+                reservation.setEndDate(endDate);
+                reservation.setPurpose(purpose);
+                reservation.setStatus(ReservationStatus.ACTIVE);
+                return reservationRepository.save(reservation);
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Overlaps an active reservation the index did not know about (ex_reservations_no_overlap)
+            throw new IllegalArgumentException("Equipment is already booked in that period");
+        }
+    }
+
+    // Cancel a reservation (its owner, or a manager/admin)
+    public Reservation cancelReservation(Long reservationId, User user) {
+        Reservation cancelled = transactionTemplate.execute(status -> {
+            Reservation reservation = reservationRepository.findDetailedById(reservationId)
+                    .orElseThrow(() -> new IllegalArgumentException("Reservation not found with id: " + reservationId));
+            boolean owner = reservation.getReservedBy().getId().equals(user.getId());
+            if (!owner && user.getRole() == Role.USER) {
+                throw new IllegalArgumentException("Only the owner or a manager can cancel this reservation");
+            }
+            if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+                throw new IllegalArgumentException("Only active reservations can be cancelled");
+            }
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            return reservationRepository.save(reservation);
+        });
+        reservationIndex.removeReservation(cancelled);
+        return cancelled;
+    }
+
+    // A user's active reservations that have not ended yet
+    @Transactional(readOnly = true)
+    public List<Reservation> getUpcomingReservations(User user) {
+        return reservationRepository.findByReservedByAndStatusAndEndDateGreaterThanEqualOrderByStartDate(
+                user, ReservationStatus.ACTIVE, LocalDate.now());
+    }
+
+    // Items of this type with nothing booked anywhere in [from, to]
+    @Transactional(readOnly = true)
+    public List<Equipment> findFreeEquipment(String type, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return equipmentRepository.findByType(type).stream()
+                .filter(this::isBookable)
+                .filter(equipment -> reservationIndex.isFree(equipment.getId(), from, to))
+                .toList();
+    }
+
+    // Calendar view for one item
+    public List<ReservationIndex.Booking> getBookings(Long equipmentId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return reservationIndex.getBookings(equipmentId, from, to);
+    }
+
+    // Retired items and items in maintenance cannot be booked
+    private boolean isBookable(Equipment equipment) {
+        return equipment.getStatus() == EquipmentStatus.AVAILABLE
+                || equipment.getStatus() == EquipmentStatus.CHECKED_OUT;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Start and end dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+// Service annotation
+@Service
+
+/*
+ * Validators for conditional GET (ETag / Last-Modified).
+ *
+ * Collection endpoints get an ETag from max(id), max(updatedAt) and the
+ * delete counter (table_deletions, bumped by a trigger, V11) of every
+ * table their JSON includes. Inserts raise max(id) and max(updatedAt),
+ * updates raise max(updatedAt) (entity updates via @PreUpdate, conditional
+ * UPDATEs set it explicitly) and deletes raise the counter, so any change
+ * alters the tag. Each value is a single index lookup, not a table scan;
+ * on a match the caller answers 304 without loading or serializing
+ * entities.
+ *
+ * Collections carry no Last-Modified: a delete does not move max(updatedAt),
+ * so If-Modified-Since alone could miss it. A single item uses its @Version
+ * for the ETag and its updatedAt for Last-Modified.
+ */
+
+// Service class for HTTP cache validators
+public class ResourceTagService {
+
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+
+    // ETag and Last-Modified (epoch millis) of a single resource
+    public record Validator(String etag, long lastModified) {}
+
+    // ETag for equipment lists and search results
+    @Transactional(readOnly = true)
+    public String getCatalogTag() {
+        return "catalog-" + digest(equipmentRepository.findCatalogStamp().get(0));
+    }
+
+    // ETag for checkout request and record lists (which embed users and equipment)
+    @Transactional(readOnly = true)
+    public String getCheckoutTag() {
+        return "checkout-" + digest(checkoutRecordRepository.findCheckoutDataStamp().get(0));
+    }
+
+    // Validators for one piece of equipment (empty if it does not exist)
+    @Transactional(readOnly = true)
+    public Optional<Validator> getEquipmentValidator(Long id) {
+        List<Object[]> rows = equipmentRepository.findVersionStamp(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        LocalDateTime updatedAt = (LocalDateTime) row[1];
+        long lastModified = updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Optional.of(new Validator("equipment-" + id + "-v" + row[0], lastModified));
+    }
+
+    // Short, stable hash of the aggregate values
+    private String digest(Object[] values) {
+        Object[] normalized = Arrays.stream(values)
+                // Native queries return java.sql.Timestamp, JPQL returns LocalDateTime
+                .map(v -> v instanceof Timestamp ts ? ts.toLocalDateTime() : v)
+                .toArray();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(Arrays.toString(normalized).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+}
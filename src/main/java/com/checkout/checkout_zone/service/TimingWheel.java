@@ -0,0 +1,184 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Hierarchical timing wheel over integer ticks.
+ *
+ * LEVELS wheels of SLOTS slots each; level i covers SLOTS^(i+1) ticks,
+ * so four levels of 64 reach 16.7M ticks (about 31 years of minutes).
+ * An entry goes into the lowest level whose range still contains its
+ * deadline, in the slot for that level's digit of the deadline. When the
+ * clock reaches a higher-level slot, its entries are moved down a level;
+ * a level-0 slot holds exactly the entries due at that tick. Each slot is
+ * a doubly linked list and entries are also found by key, so scheduling
+ * and cancelling are O(1), and an entry is moved at most LEVELS times
+ * before it fires.
+ *
+ * Deadlines beyond the top level wait in an overflow list that is looked at
+ * once per full turn of the top wheel; deadlines at or before the current
+ * tick fire on the next advance.
+ *
+ * Not thread-safe; DeadlineScheduler guards it with its own lock.
+ */
+
+// Class definition
+class TimingWheel<K, V> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Entry<K, V>[] slots;
+    private final Entry<K, V> overflow = new Entry<>(null, 0, null);
+    private final Entry<K, V> due = new Entry<>(null, 0, null);
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private long currentTick;
+
+    // Constructor
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.slots = new Entry[LEVELS * SLOTS];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Entry<>(null, 0, null);
+        }
+    }
+
+    // Schedule (or move) the entry for this key
+    void schedule(K key, long tick, V value) {
+        cancel(key);
+        Entry<K, V> entry = new Entry<>(key, tick, value);
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    // Drop the entry for this key; returns false if there was none
+    boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.unlink();
+        return true;
+    }
+
+    // Move the clock forward to toTick; returns the values that came due, in firing order
+    List<V> advance(long toTick) {
+        List<V> fired = new ArrayList<>();
+        drain(due, fired);
+        while (currentTick < toTick) {
+            currentTick++;
+            if ((currentTick & ((1L << (BITS * LEVELS)) - 1)) == 0) {
+                cascade(overflow);
+            }
+            // Higher levels first: what they hand down may land in a slot cascaded next
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (BITS * level)) - 1)) == 0) {
+                    cascade(slots[level * SLOTS + digit(currentTick, level)]);
+                }
+            }
+            drain(due, fired);
+            drain(slots[digit(currentTick, 0)], fired);
+        }
+        return fired;
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Lowest level whose range around the current tick contains the deadline
+    private void place(Entry<K, V> entry) {
+        if (entry.tick <= currentTick) {
+            due.append(entry);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(entry.tick ^ currentTick)) / BITS;
+        if (level >= LEVELS) {
+            overflow.append(entry);
+        } else {
+            slots[level * SLOTS + digit(entry.tick, level)].append(entry);
+        }
+    }
+
+    // Re-place everything in a slot relative to the current tick
+    private void cascade(Entry<K, V> head) {
+        Entry<K, V> entry = head.detachAll();
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entry.prev = entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void drain(Entry<K, V> head, List<V> fired) {
+        Entry<K, V> entry = head.detachAll();
+        while (entry != null) {
+            Entry<K, V> next = entry.next;
+            entry.prev = entry.next = null;
+            entries.remove(entry.key);
+            fired.add(entry.value);
+            entry = next;
+        }
+    }
+
+    private static int digit(long tick, int level) {
+        return (int) ((tick >>> (BITS * level)) & MASK);
+    }
+
+    // List node; each slot's head is a sentinel of a circular list
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long tick;
+        private final V value;
+        private Entry<K, V> prev;
+        private Entry<K, V> next;
+
+        private Entry(K key, long tick, V value) {
+            this.key = key;
+            this.tick = tick;
+            this.value = value;
+            if (key == null) {
+                prev = next = this;
+            }
+        }
+
+        private void append(Entry<K, V> entry) {
+            entry.prev = prev;
+            entry.next = this;
+            prev.next = entry;
+            prev = entry;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = next = null;
+            }
+        }
+
+        // Empty this sentinel's list; returns the first entry of a null-terminated chain (or null)
+        private Entry<K, V> detachAll() {
+            if (next == this) {
+                return null;
+            }
+            Entry<K, V> first = next;
+            prev.next = null;
+            prev = next = this;
+            return first;
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Service annotation
+@Service
+
+/*
+ * Holds the HMAC key used to sign access and refresh tokens.
+ *
+ * The key comes from checkout.security.token.secret (base64, at least 32
+ * bytes) if set. Otherwise it is read from checkout.security.token.key-file,
+ * and generated there on first start (owner read/write only). All
+ * instances that share the key file accept each other's tokens.
+ */
+
+// Service class for the token signing key
+public class TokenKeyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenKeyStore.class);
+    private static final int KEY_BYTES = 32;
+
+    private final SecretKey signingKey;
+
+    // Constructor
+    public TokenKeyStore(@Value("${checkout.security.token.secret:}") String secret,
+                         @Value("${checkout.security.token.key-file:config/token.key}") Path keyFile) throws IOException {
+        byte[] key = secret.isBlank() ? loadOrCreate(keyFile) : Base64.getDecoder().decode(secret.trim());
+        if (key.length < KEY_BYTES) {
+            throw new IllegalStateException("Token signing key must be at least " + KEY_BYTES + " bytes");
+        }
+        this.signingKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    // Read the key file, or generate a new random key and store it
+    private byte[] loadOrCreate(Path keyFile) throws IOException {
+        if (Files.exists(keyFile)) {
+            return Base64.getDecoder().decode(Files.readString(keyFile, StandardCharsets.US_ASCII).trim());
+        }
+        byte[] key = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(key);
+        if (keyFile.getParent() != null) {
+            Files.createDirectories(keyFile.getParent());
+        }
+        Files.writeString(keyFile, Base64.getEncoder().encodeToString(key), StandardCharsets.US_ASCII);
+        try {
+            Files.setPosixFilePermissions(keyFile, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; rely on the directory permissions
+        }
+        log.info("Generated new token signing key at {}", keyFile.toAbsolutePath());
+        return key;
+    }
+
+}
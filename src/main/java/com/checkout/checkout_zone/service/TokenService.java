@@ -0,0 +1,175 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Service annotation
+@Service
+
+/*
+ * Issues and validates the HMAC-signed (HS256) access and refresh tokens.
+ *
+ * Access tokens are short-lived and carry everything needed to build the
+ * UserPrincipal (id, username, role, names), so a bearer request needs no
+ * database query and no password hashing. Refresh tokens are longer-lived,
+ * carry only the user id, and are exchanged at /api/auth/refresh, which
+ * re-reads the user so deactivated or deleted users cannot renew. Both
+ * carry the user's stored token generation (TokenDenylist), so a change to
+ * the user revokes every token issued before it on every instance; refresh
+ * tokens are checked against the database, access tokens against a cache
+ * of it that is at most a few seconds old.
+ */
+
+// Service class for authentication tokens
+public class TokenService {
+
+    private static final String ISSUER = "checkout-zone";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+    private static final String GENERATION_CLAIM = "gen";
+
+    private final TokenDenylist tokenDenylist;
+    private final JwtEncoder encoder;
+    private final NimbusJwtDecoder accessTokenDecoder;
+    private final NimbusJwtDecoder refreshTokenDecoder;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    // Constructor
+    public TokenService(TokenKeyStore keyStore,
+                        TokenDenylist tokenDenylist,
+                        @Value("${checkout.security.token.access-ttl:15m}") Duration accessTtl,
+                        @Value("${checkout.security.token.refresh-ttl:7d}") Duration refreshTtl) {
+        this.tokenDenylist = tokenDenylist;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(keyStore.getSigningKey()));
+
+        this.accessTokenDecoder = NimbusJwtDecoder.withSecretKey(keyStore.getSigningKey())
+                .macAlgorithm(MacAlgorithm.HS256).build();
+        this.accessTokenDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER), typeValidator(ACCESS), revocationValidator(false)
+        ));
+
+        this.refreshTokenDecoder = NimbusJwtDecoder.withSecretKey(keyStore.getSigningKey())
+                .macAlgorithm(MacAlgorithm.HS256).build();
+        this.refreshTokenDecoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER), typeValidator(REFRESH), revocationValidator(true)
+        ));
+    }
+
+    // Issue a new access + refresh token pair for a user
+    public Map<String, Object> issueTokens(User user) {
+        long generation = tokenDenylist.currentGeneration(user.getId());
+        Map<String, Object> tokens = new LinkedHashMap<>();
+        tokens.put("accessToken", encode(user, generation, ACCESS, accessTtl));
+        tokens.put("refreshToken", encode(user, generation, REFRESH, refreshTtl));
+        tokens.put("tokenType", "Bearer");
+        tokens.put("expiresIn", accessTtl.toSeconds());
+        return tokens;
+    }
+
+    // Decoder used by the resource server filter for bearer access tokens
+    public JwtDecoder getAccessTokenDecoder() {
+        return accessTokenDecoder;
+    }
+
+    // Validate a refresh token and return the user id it was issued to
+    public Long decodeRefreshToken(String refreshToken) throws JwtException {
+        return userId(refreshTokenDecoder.decode(refreshToken));
+    }
+
+    // Build the authenticated principal from access token claims only
+    public AbstractAuthenticationToken toAuthentication(Jwt jwt) {
+        User user = new User();
+        user.setId(userId(jwt));
+        user.setUsername(jwt.getSubject());
+        user.setRole(Role.valueOf(jwt.getClaimAsString("role")));
+        user.setFirstName(jwt.getClaimAsString("given_name"));
+        user.setLastName(jwt.getClaimAsString("family_name"));
+        user.setEmail(jwt.getClaimAsString("email"));
+        user.setDepartment(jwt.getClaimAsString("department"));
+        user.setActive(true);
+        UserPrincipal principal = new UserPrincipal(user);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, jwt, principal.getAuthorities());
+    }
+
+    private String encode(User user, long generation, String type, Duration ttl) {
+        Instant now = Instant.now();
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(user.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(TYPE_CLAIM, type)
+                .claim("uid", user.getId())
+                .claim(GENERATION_CLAIM, generation);
+        if (ACCESS.equals(type)) {
+            claims.claim("role", user.getRole().name());
+            putIfPresent(claims, "given_name", user.getFirstName());
+            putIfPresent(claims, "family_name", user.getLastName());
+            putIfPresent(claims, "email", user.getEmail());
+            putIfPresent(claims, "department", user.getDepartment());
+        }
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims.build())).getTokenValue();
+    }
+
+    private void putIfPresent(JwtClaimsSet.Builder claims, String name, String value) {
+        if (value != null) {
+            claims.claim(name, value);
+        }
+    }
+
+    private Long userId(Jwt jwt) {
+        Object uid = jwt.getClaim("uid");
+        if (!(uid instanceof Number number)) {
+            throw new BadJwtException("Token has no user id");
+        }
+        return number.longValue();
+    }
+
+    // Reject access tokens used as refresh tokens and vice versa
+    private OAuth2TokenValidator<Jwt> typeValidator(String expectedType) {
+        return jwt -> expectedType.equals(jwt.getClaimAsString(TYPE_CLAIM))
+                ? OAuth2TokenValidatorResult.success()
+                : OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Wrong token type", null));
+    }
+
+    // Reject tokens of users changed, deactivated or deleted after the token was issued
+    // (a token without a generation counts as generation 0; "stored" skips the cache)
+    private OAuth2TokenValidator<Jwt> revocationValidator(boolean stored) {
+        return jwt -> {
+            Object uid = jwt.getClaim("uid");
+            Object generation = jwt.getClaim(GENERATION_CLAIM);
+            long tokenGeneration = generation instanceof Number value ? value.longValue() : 0;
+            if (uid instanceof Number number) {
+                boolean revoked = stored
+                        ? tokenDenylist.isRevokedNow(number.longValue(), tokenGeneration)
+                        : tokenDenylist.isRevoked(number.longValue(), tokenGeneration);
+                if (!revoked) {
+                    return OAuth2TokenValidatorResult.success();
+                }
+            }
+            return OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Token has been revoked", null));
+        };
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.UtilizationReport;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.RollupDimension;
+import com.checkout.checkout_zone.entity.UsageRollup;
+import com.checkout.checkout_zone.repository.CheckoutRecordRepository;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.checkout.checkout_zone.repository.UsageRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+// Service annotation
+@Service
+
+/*
+ * Daily usage rollups per item, equipment type and borrower department.
+ *
+ * CheckoutService adds to them inside the fulfill and return
+ * transactions. EquipmentService and EquipmentImportService record items
+ * acquired, removed or moved to another type. Each of these writes is a
+ * single upsert that aggregates in SQL, whatever the number of records.
+ * Reports read only usage_rollups: one sum over the days before the
+ * period and the daily rows inside it. Their cost depends on days x keys,
+ * not on the number of checkout records.
+ *
+ * backfill() rebuilds the table from checkout_records and equipment
+ * without stopping fulfills and returns. It takes a PostgreSQL advisory
+ * lock (one backfill at a time, across instances) and exports its
+ * snapshot. The work is split into id ranges of chunk-size rows, run on
+ * "parallelism" threads, each range in its own transaction reading that
+ * snapshot, into the staging table usage_rollups_build. One more task
+ * copies usage_rollups as of the same snapshot with the signs flipped.
+ * Every incremental write commits in the same transaction as the rows it
+ * counts, so the staging rows sum to "rebuilt minus current" as of the
+ * snapshot. A final transaction adds them to usage_rollups, the same way
+ * the incremental writes add their deltas: anything committed while the
+ * build ran is kept, and nothing is counted twice. Reports read the
+ * previous rollups until then, and a failed build changes nothing.
+ * It runs on startup while the table is empty (so a first build that
+ * failed is retried on the next start), and on demand after a restore or
+ * a bug fix; an on-demand backfill while another one runs is refused.
+ */
+
+// Service class for usage rollups and utilization reports
+public class UsageRollupService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageRollupService.class);
+
+    // Snapshot ids as pg_export_snapshot() returns them (the id is inlined into SET TRANSACTION)
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f-]+");
+
+    // What a backfill did
+    public record BackfillResult(int recordChunks, int equipmentChunks, long elapsedMillis) {}
+
+    @Autowired
+    private UsageRollupRepository usageRollupRepository;
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate separateTransaction;
+    private final TransactionTemplate snapshotTransaction;
+    private final int chunkSize;
+    private final int parallelism;
+
+    // Constructor
+    public UsageRollupService(PlatformTransactionManager transactionManager,
+                              @Value("${checkout.rollups.backfill.chunk-size:10000}") int chunkSize,
+                              @Value("${checkout.rollups.backfill.parallelism:4}") int parallelism) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // First start after the table was created: build it from the existing data
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (usageRollupRepository.count() == 0) {
+            BackfillResult result = rebuild(true);
+            if (result == null) {
+                return; // Another instance built it meanwhile
+            }
+            log.info("Usage rollups built in {} ms ({} record and {} equipment chunks)",
+                    result.elapsedMillis(), result.recordChunks(), result.equipmentChunks());
+        }
+    }
+
+    // Add newly fulfilled checkouts (call inside the fulfilling transaction)
+    public void recordCheckouts(Collection<Long> recordIds) {
+        usageRollupRepository.addCheckouts(recordIds);
+    }
+
+    // Add just-returned checkouts (call inside the returning transaction, after the records are closed)
+    public void recordReturns(Collection<Long> recordIds) {
+        usageRollupRepository.addReturns(recordIds);
+    }
+
+    // Count new items as owned from their acquisition date
+    public void recordAcquired(Collection<Long> equipmentIds) {
+        if (!equipmentIds.isEmpty()) {
+            usageRollupRepository.addAcquired(equipmentIds);
+        }
+    }
+
+    // A deleted item is no longer owned from today
+    public void recordRemoved(Equipment equipment) {
+        usageRollupRepository.addOwnedDelta(equipment.getId().toString(), equipment.getType(), LocalDate.now(), -1);
+    }
+
+    // An item changed type today
+    public void recordTypeChange(String fromType, String toType) {
+        if (!Objects.equals(fromType, toType)) {
+            usageRollupRepository.moveType(fromType, toType, LocalDate.now());
+        }
+    }
+
+    // Rebuild every rollup from checkout_records and equipment (CannotAcquireLockException if one is running)
+    public BackfillResult backfill() {
+        return rebuild(false);
+    }
+
+    // Usage per key over [from, to]; key narrows it to one item, type or department (may be null)
+    public UtilizationReport getUtilization(RollupDimension dimension, String key, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        Map<String, Totals> totals = new TreeMap<>();
+        for (Object[] row : usageRollupRepository.sumBefore(dimension, key, from)) {
+            Totals t = totals.computeIfAbsent((String) row[0], k -> new Totals(from));
+            t.out = ((Number) row[1]).longValue();
+            t.owned = ((Number) row[2]).longValue();
+        }
+        for (UsageRollup rollup : usageRollupRepository.findRange(dimension, key, from, to)) {
+            Totals t = totals.computeIfAbsent(rollup.getId().getDimensionKey(), k -> new Totals(from));
+            t.advanceTo(rollup.getId().getRollupDate());
+            t.out += rollup.getCheckoutCount() - rollup.getReturnCount();
+            t.owned += rollup.getOwnedDelta();
+            t.checkouts += rollup.getCheckoutCount();
+            t.returns += rollup.getReturnCount();
+            t.loanDays += rollup.getLoanDays();
+        }
+        List<UtilizationReport.Row> rows = new ArrayList<>();
+        totals.forEach((k, t) -> {
+            t.advanceTo(to.plusDays(1));
+            if (t.checkouts > 0 || t.returns > 0 || t.daysOut > 0 || t.daysOwned > 0) {
+                rows.add(new UtilizationReport.Row(k, t.checkouts, t.returns, t.loanDays, t.daysOut, t.daysOwned));
+            }
+        });
+        return new UtilizationReport(dimension, from, to, rows);
+    }
+
+    // Build and publish under the backfill lock; on startup wait for it, and skip (null) if
+    // the rollups are no longer empty by then
+    private BackfillResult rebuild(boolean startup) {
+        long started = System.nanoTime();
+        // Holds the lock and the exported snapshot until the build is published
+        return transactionTemplate.execute(status -> {
+            if (startup) {
+                usageRollupRepository.lockBackfill();
+                if (usageRollupRepository.count() > 0) {
+                    return null;
+                }
+            } else if (!usageRollupRepository.tryLockBackfill()) {
+                throw new CannotAcquireLockException("A usage rollup backfill is already running");
+            }
+            // Taken after the lock, so it includes everything the previous backfill published
+            String snapshot = usageRollupRepository.exportSnapshot();
+            separateTransaction.executeWithoutResult(s -> usageRollupRepository.clearBuild());
+            List<long[]> recordRanges = split(checkoutRecordRepository.findIdRange());
+            List<long[]> equipmentRanges = split(equipmentRepository.findIdRange());
+            List<Supplier<Integer>> tasks = new ArrayList<>();
+            tasks.add(usageRollupRepository::buildCurrentNegated);
+            for (long[] range : recordRanges) {
+                tasks.add(() -> usageRollupRepository.buildRecordRange(range[0], range[1]));
+            }
+            for (long[] range : equipmentRanges) {
+                tasks.add(() -> usageRollupRepository.buildAcquiredRange(range[0], range[1]));
+            }
+            try (ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                    Thread.ofVirtual().name("rollup-backfill-", 0).factory())) {
+                List<Future<Integer>> chunks = new ArrayList<>();
+                for (Supplier<Integer> task : tasks) {
+                    chunks.add(workers.submit(() -> snapshotTransaction.execute(s -> {
+                        useSnapshot(snapshot);
+                        return task.get();
+                    })));
+                }
+                for (Future<Integer> chunk : chunks) {
+                    chunk.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Usage rollup backfill failed; run it again", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during usage rollup backfill", e);
+            }
+            // Publish the complete build in one transaction
+            separateTransaction.executeWithoutResult(s -> {
+                usageRollupRepository.applyBuild();
+                usageRollupRepository.deleteEmptyBuilt();
+                usageRollupRepository.clearBuild();
+            });
+            return new BackfillResult(recordRanges.size(), equipmentRanges.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        });
+    }
+
+    // Make the current (repeatable read) transaction read the backfill's snapshot; must be its first statement
+    private void useSnapshot(String snapshot) {
+        if (!SNAPSHOT_ID.matcher(snapshot).matches()) {
+            throw new IllegalStateException("Unexpected snapshot id " + snapshot);
+        }
+        entityManager.createNativeQuery("SET TRANSACTION SNAPSHOT '" + snapshot + "'")
+                .setHint(HINT_NATIVE_SPACES, "usage_rollups_build")
+                .executeUpdate();
+    }
+
+    // [first, last] id ranges of chunkSize ids covering a [min, max] row (none if the table is empty)
+    private List<long[]> split(List<Object[]> minMax) {
+        List<long[]> ranges = new ArrayList<>();
+        Object[] row = minMax.isEmpty() ? null : minMax.get(0);
+        if (row == null || row[0] == null) {
+            return ranges;
+        }
+        long max = ((Number) row[1]).longValue();
+        for (long first = ((Number) row[0]).longValue(); first <= max; first += chunkSize) {
+            ranges.add(new long[]{first, Math.min(max, first + chunkSize - 1)});
+        }
+        return ranges;
+    }
+
+    // Running totals for one key while walking its daily rows in date order
+    private static final class Totals {
+        private long out;
+        private long owned;
+        private long checkouts;
+        private long returns;
+        private long loanDays;
+        private long daysOut;
+        private long daysOwned;
+        private LocalDate cursor;
+
+        private Totals(LocalDate from) {
+            this.cursor = from;
+        }
+
+        // Count the days from the cursor up to (not including) date at the current levels
+        private void advanceTo(LocalDate date) {
+            long days = ChronoUnit.DAYS.between(cursor, date);
+            daysOut += out * days;
+            daysOwned += owned * days;
+            cursor = date;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.util.Collection;
+import java.util.Collections;
+
+/*
+ * Authenticated principal that carries the resolved User entity.
+ *
+ * The User is a detached snapshot loaded once per cache lifetime, so
+ * controllers can pass it to services as the acting user (approver,
+ * manager, requester) without another lookup by id. It is only used as
+ * an association target and for reading; never modify it.
+ */
+
+// Class definition
+public class UserPrincipal implements UserDetails {
+
+    private final User user;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    // Constructor
+    public UserPrincipal(User user) {
+        this.user = user;
+        // Spring Security expects roles to have "ROLE_" prefix
+        this.authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+        );
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Long getId() {
+        return user.getId();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getPassword();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(user.getActive());
+    }
+
+}
@@ -1,16 +1,22 @@
 package com.checkout.checkout_zone.service;
 
 // Import statements
+import com.checkout.checkout_zone.entity.Role;
 import com.checkout.checkout_zone.entity.User;
 import com.checkout.checkout_zone.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 // Service annotation
 @Service
+@Timed(value = "checkout.service", histogram = true)
 
 // Service class for user management
 public class UserService {
@@ -19,6 +25,10 @@ public class UserService {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private TokenDenylist tokenDenylist;
 
     // Create new user
     public User createUser(User user) {
@@ -39,10 +49,10 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    // Authenticate user
+    // Authenticate user (deactivated users cannot log in)
     public Optional<User> authenticate(String username, String password) {
         Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
+        if (userOpt.isPresent() && Boolean.TRUE.equals(userOpt.get().getActive())) {
             User user = userOpt.get();
             // Check if password matches
             if (passwordEncoder.matches(password, user.getPassword())) {
@@ -54,21 +64,38 @@ public class UserService {
 
 
     // Get all users
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Get one keyset page of users, ordered by id, with optional filters
+    @Transactional(readOnly = true)
+    public List<User> getUserPage(Role role, String department, Boolean active, Long afterId, int limit) {
+        Specification<User> spec = Specification.allOf(
+                afterId == null ? null : (root, query, cb) -> cb.greaterThan(root.<Long>get("id"), afterId),
+                role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role),
+                department == null ? null : (root, query, cb) -> cb.equal(root.get("department"), department),
+                active == null ? null : (root, query, cb) -> cb.equal(root.get("active"), active)
+        );
+        // Fetch one extra row so the caller can tell whether there is a next page
+        return userRepository.findBy(spec, q -> q.sortBy(Sort.by("id")).limit(limit + 1).all());
+    }
+
     // Get user by ID
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
     // Get user by username
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
     // Get user by email
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -85,7 +112,10 @@ public class UserService {
         existing.setEmployeeId(updatedUser.getEmployeeId());
         existing.setRole(updatedUser.getRole());
         existing.setActive(updatedUser.getActive());
-        return userRepository.save(existing);
+        User saved = userRepository.save(existing);
+        principalCache.evict(saved.getUsername());
+        tokenDenylist.revoke(saved.getId());
+        return saved;
     }
 
     // Deactivate user (soft delete)
@@ -94,14 +124,17 @@ public class UserService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
         user.setActive(false);
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
+        tokenDenylist.revoke(user.getId());
     }
 
     // Delete user (hard delete)
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with id: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
         userRepository.deleteById(id);
+        principalCache.evict(user.getUsername());
+        tokenDenylist.forget(id);
     }
 
 }
@@ -0,0 +1,105 @@
+package com.checkout.checkout_zone.service;
+
+// Import statements
+import com.checkout.checkout_zone.dto.DomainEvent;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.RequestStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Component annotation
+@Component
+
+/*
+ * Business metrics for the checkout workflow.
+ *
+ * Service call timings come from @Timed on CheckoutService,
+ * EquipmentService and UserService ("checkout.service", tagged with class,
+ * method and exception). This class adds what timings cannot show:
+ *
+ * - checkout.events{type}: committed workflow steps (requests created,
+ *   approved, fulfilled, items returned, ...), counted from the same domain
+ *   events that feed /api/events, so rolled back work is not counted;
+ * - checkout.requests{status} and checkout.equipment{status}: current
+ *   counts, read from the dashboard summary. That summary is cached for a
+ *   few seconds, so scrapes add no queries of their own. Open checkouts
+ *   are checkout.equipment{status="CHECKED_OUT"}, since every open record
+ *   holds exactly one checked-out item;
+ * - checkout.events.connections: size of the live event stream;
+ * - checkout.coalescing.requests{result}: hot reads that ran their query
+ *   versus those that shared a concurrent one (see RequestCoalescer).
+ */
+
+// Class definition
+public class WorkflowMetrics implements MeterBinder {
+
+    @Autowired
+    private DashboardService dashboardService;
+    @Autowired
+    private EventStreamService eventStreamService;
+    @Autowired
+    private DeadlineScheduler deadlineScheduler;
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    private final Map<DomainEvent.Type, Counter> eventCounters = new EnumMap<>(DomainEvent.Type.class);
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (DomainEvent.Type type : DomainEvent.Type.values()) {
+            eventCounters.put(type, Counter.builder("checkout.events")
+                    .description("Committed checkout workflow and catalog changes")
+                    .tag("type", type.name())
+                    .register(registry));
+        }
+        for (RequestStatus status : RequestStatus.values()) {
+            Gauge.builder("checkout.requests", dashboardService,
+                            d -> d.getSummary().getRequestsByStatus().getOrDefault(status, 0L))
+                    .description("Checkout requests by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        for (EquipmentStatus status : EquipmentStatus.values()) {
+            Gauge.builder("checkout.equipment", dashboardService,
+                            d -> d.getSummary().getEquipmentByStatus().getOrDefault(status, 0L))
+                    .description("Equipment items by status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+        Gauge.builder("checkout.events.connections", eventStreamService, EventStreamService::getConnectionCount)
+                .description("Open /api/events connections")
+                .register(registry);
+        Gauge.builder("checkout.deadlines.scheduled", deadlineScheduler, DeadlineScheduler::getScheduledCount)
+                .description("Return, warranty and need-by dates waiting in the deadline scheduler")
+                .register(registry);
+        Gauge.builder("checkout.records.overdue", deadlineScheduler, DeadlineScheduler::getOverdueCount)
+                .description("Open checkouts past their expected return date")
+                .register(registry);
+        FunctionCounter.builder("checkout.coalescing.requests", requestCoalescer, RequestCoalescer::getComputedCount)
+                .description("Coalesced reads that ran the computation or reused another request's result")
+                .tag("result", "computed")
+                .register(registry);
+        FunctionCounter.builder("checkout.coalescing.requests", requestCoalescer, RequestCoalescer::getSharedCount)
+                .description("Coalesced reads that ran the computation or reused another request's result")
+                .tag("result", "shared")
+                .register(registry);
+    }
+
+    // Count a committed change (registered counters only exist once bindTo has run)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        Counter counter = eventCounters.get(event.getType());
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+}
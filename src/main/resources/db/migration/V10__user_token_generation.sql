@@ -0,0 +1,5 @@
+-- Token generation per user. Access and refresh tokens carry the value
+-- they were issued at; updating or deactivating the user bumps it, which
+-- revokes every earlier token on every instance (TokenDenylist).
+
+alter table users add column token_generation bigint not null default 0;
@@ -0,0 +1,28 @@
+-- Delete markers for the conditional GET validators (ResourceTagService).
+-- Inserts and updates already move max(id) or max(updated_at), both read
+-- from an index; a delete moves neither, so every delete statement on a
+-- table bumps its counter here instead of the validators counting rows.
+
+create table table_deletions (
+    table_name varchar(63) primary key,
+    deletions bigint not null default 0
+);
+
+insert into table_deletions (table_name)
+values ('equipment'), ('users'), ('checkout_requests'), ('checkout_records');
+
+create function count_table_deletion() returns trigger language plpgsql as $$
+begin
+    update table_deletions set deletions = deletions + 1 where table_name = TG_TABLE_NAME;
+    return null;
+end
+$$;
+
+create trigger equipment_deletions after delete or truncate on equipment
+    for each statement execute function count_table_deletion();
+create trigger users_deletions after delete or truncate on users
+    for each statement execute function count_table_deletion();
+create trigger checkout_requests_deletions after delete or truncate on checkout_requests
+    for each statement execute function count_table_deletion();
+create trigger checkout_records_deletions after delete or truncate on checkout_records
+    for each statement execute function count_table_deletion();
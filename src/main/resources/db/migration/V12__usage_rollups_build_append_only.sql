@@ -0,0 +1,8 @@
+-- The usage rollup backfill now fills usage_rollups_build with plain
+-- inserts: the new totals from a snapshot, plus the rollups as they were
+-- in that snapshot with their signs flipped. Publishing sums the staging
+-- rows per key and adds them to usage_rollups, so changes committed during
+-- the build are kept. A key can have several staging rows, so the table
+-- no longer has a primary key.
+
+alter table usage_rollups_build drop constraint usage_rollups_build_pkey;
@@ -0,0 +1,115 @@
+-- Schema as ddl-auto=update last generated it (pooled sequences, version
+-- columns, reservations). Databases created that way are baselined at
+-- version 1 and skip this script; see spring.flyway.baseline-on-migrate.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence equipment_seq start with 1 increment by 50;
+create sequence checkout_requests_seq start with 1 increment by 50;
+create sequence checkout_records_seq start with 1 increment by 50;
+create sequence reservations_seq start with 1 increment by 50;
+
+create table users (
+    id bigint not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    first_name varchar(255),
+    last_name varchar(255),
+    department varchar(255),
+    employee_id varchar(255),
+    role varchar(255) check (role in ('USER', 'EQUIPMENT_MANAGER', 'ADMIN')),
+    active boolean,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table equipment (
+    id bigint not null,
+    internal_id varchar(255) not null,
+    serial_number varchar(255),
+    name varchar(255) not null,
+    model varchar(255),
+    brand varchar(255),
+    type varchar(255) not null,
+    condition varchar(255) check (condition in ('NEW', 'EXCELLENT', 'GOOD', 'FAIR', 'POOR', 'NEEDS_REPAIR')),
+    status varchar(255) check (status in ('AVAILABLE', 'CHECKED_OUT', 'IN_MAINTENANCE', 'RETIRED')),
+    location varchar(255),
+    acquisition_date date,
+    purchase_price numeric(38, 2),
+    current_value numeric(38, 2),
+    warranty_expiry date,
+    notes varchar(1000),
+    image_url varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    version bigint default 0 not null,
+    primary key (id),
+    constraint uk_equipment_internal_id unique (internal_id)
+);
+
+create table checkout_requests (
+    id bigint not null,
+    requested_by_user_id bigint not null,
+    status varchar(255) not null check (status in ('PENDING', 'APPROVED', 'REJECTED', 'COMPLETED', 'CANCELLED')),
+    requested_date date not null,
+    needed_by_date date,
+    purpose varchar(1000),
+    approved_by_user_id bigint,
+    approval_date timestamp(6),
+    approval_notes varchar(500),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    version bigint default 0 not null,
+    primary key (id),
+    constraint fk_checkout_requests_requested_by foreign key (requested_by_user_id) references users,
+    constraint fk_checkout_requests_approved_by foreign key (approved_by_user_id) references users
+);
+
+create table request_equipment (
+    request_id bigint not null,
+    equipment_id bigint not null,
+    primary key (request_id, equipment_id),
+    constraint fk_request_equipment_request foreign key (request_id) references checkout_requests,
+    constraint fk_request_equipment_equipment foreign key (equipment_id) references equipment
+);
+
+create table checkout_records (
+    id bigint not null,
+    user_id bigint not null,
+    equipment_id bigint not null,
+    checkout_request_id bigint,
+    checkout_date date not null,
+    expected_return_date date,
+    actual_return_date date,
+    condition_at_checkout varchar(255) check (condition_at_checkout in ('NEW', 'EXCELLENT', 'GOOD', 'FAIR', 'POOR', 'NEEDS_REPAIR')),
+    condition_at_return varchar(255) check (condition_at_return in ('NEW', 'EXCELLENT', 'GOOD', 'FAIR', 'POOR', 'NEEDS_REPAIR')),
+    return_notes varchar(1000),
+    checked_out_by_manager_id bigint,
+    received_by_manager_id bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_checkout_records_user foreign key (user_id) references users,
+    constraint fk_checkout_records_equipment foreign key (equipment_id) references equipment,
+    constraint fk_checkout_records_request foreign key (checkout_request_id) references checkout_requests,
+    constraint fk_checkout_records_checked_out_by foreign key (checked_out_by_manager_id) references users,
+    constraint fk_checkout_records_received_by foreign key (received_by_manager_id) references users
+);
+
+create table reservations (
+    id bigint not null,
+    equipment_id bigint not null,
+    reserved_by_user_id bigint not null,
+    start_date date not null,
+    end_date date not null,
+    purpose varchar(500),
+    status varchar(255) not null check (status in ('ACTIVE', 'CANCELLED')),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_reservations_equipment foreign key (equipment_id) references equipment,
+    constraint fk_reservations_reserved_by foreign key (reserved_by_user_id) references users
+);
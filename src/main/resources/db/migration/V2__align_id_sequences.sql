@@ -0,0 +1,9 @@
+-- Pooled sequences added to an existing database start at 1 and would hand
+-- out ids that are already taken. Move each one past its table's highest id;
+-- never backwards, so running instances keep their allocated blocks.
+
+select setval('users_seq', greatest((select last_value from users_seq), (select coalesce(max(id), 0) + 50 from users)));
+select setval('equipment_seq', greatest((select last_value from equipment_seq), (select coalesce(max(id), 0) + 50 from equipment)));
+select setval('checkout_requests_seq', greatest((select last_value from checkout_requests_seq), (select coalesce(max(id), 0) + 50 from checkout_requests)));
+select setval('checkout_records_seq', greatest((select last_value from checkout_records_seq), (select coalesce(max(id), 0) + 50 from checkout_records)));
+select setval('reservations_seq', greatest((select last_value from reservations_seq), (select coalesce(max(id), 0) + 50 from reservations)));
@@ -0,0 +1,38 @@
+-- Indexes for the queries the API runs most. Primary and unique keys
+-- (ids, username, email, internal_id, request_equipment) already exist.
+--
+-- Status and requester values are bound as parameters, so they get plain
+-- composite indexes; PostgreSQL only uses a partial index when the query
+-- spells out its predicate, which "actual_return_date IS NULL" does.
+
+-- Catalog: findByStatus, findByStatusAndType, status-filtered keyset pages, dashboard counts
+create index idx_equipment_status_type on equipment (status, type);
+-- findByType, type-filtered pages and the reservation availability lookup
+create index idx_equipment_type on equipment (type);
+
+-- Pending queue and status-filtered request pages, newest first
+create index idx_checkout_requests_status_id on checkout_requests (status, id);
+-- findByRequestedBy and "my requests" pages
+create index idx_checkout_requests_requested_by_id on checkout_requests (requested_by_user_id, id);
+create index idx_checkout_requests_approved_by on checkout_requests (approved_by_user_id);
+-- Requests containing an item (the primary key leads with request_id)
+create index idx_request_equipment_equipment on request_equipment (equipment_id);
+
+-- Open checkouts: findByActualReturnDateIsNull, the per-user and per-item
+-- open lookups and the interval index rebuild only touch these rows
+create index idx_checkout_records_open_user on checkout_records (user_id) where actual_return_date is null;
+create index idx_checkout_records_open_equipment on checkout_records (equipment_id) where actual_return_date is null;
+-- Full history: findByEquipment, findByUser
+create index idx_checkout_records_equipment_date on checkout_records (equipment_id, checkout_date);
+create index idx_checkout_records_user_date on checkout_records (user_id, checkout_date);
+create index idx_checkout_records_request on checkout_records (checkout_request_id);
+
+-- Active reservations from a date on (index rebuild) and per user
+create index idx_reservations_status_end on reservations (status, end_date);
+create index idx_reservations_user_status_end on reservations (reserved_by_user_id, status, end_date);
+
+-- MAX(updated_at) in the conditional GET validators (ResourceTagService)
+create index idx_users_updated_at on users (updated_at);
+create index idx_equipment_updated_at on equipment (updated_at);
+create index idx_checkout_requests_updated_at on checkout_requests (updated_at);
+create index idx_checkout_records_updated_at on checkout_records (updated_at);
@@ -0,0 +1,8 @@
+-- Startup load of the deadline scheduler (DeadlineScheduler). Only dates
+-- from today on are read; open checkouts come through the open-record
+-- partial indexes from V3.
+
+-- Warranties still running (most items have no warranty date at all)
+create index idx_equipment_warranty_expiry on equipment (warranty_expiry) where warranty_expiry is not null;
+-- Pending and approved requests with a need-by date still ahead
+create index idx_checkout_requests_status_needed_by on checkout_requests (status, needed_by_date);
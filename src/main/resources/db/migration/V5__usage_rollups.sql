@@ -0,0 +1,16 @@
+-- Daily usage per item, equipment type and borrower department (UsageRollup).
+-- One row per (dimension, key, day) with that day's changes; the
+-- primary key is also the index every rollup read and upsert goes through.
+-- Filled by UsageRollupService: incrementally on fulfill and return, and
+-- by its backfill, which runs on startup while the table is empty.
+
+create table usage_rollups (
+    dimension varchar(16) not null check (dimension in ('EQUIPMENT', 'TYPE', 'DEPARTMENT')),
+    dimension_key varchar(255) not null,
+    rollup_date date not null,
+    checkout_count integer not null default 0,
+    return_count integer not null default 0,
+    loan_days bigint not null default 0,
+    owned_delta integer not null default 0,
+    primary key (dimension, dimension_key, rollup_date)
+);
@@ -0,0 +1,12 @@
+-- Equipment type and borrower department as they were when the item was
+-- handed out. Usage rollups count a loan's checkout and its return under
+-- these, so a type or department change during the loan cannot split one
+-- loan across two keys. Existing records take the current values.
+
+alter table checkout_records add column equipment_type varchar(255);
+alter table checkout_records add column borrower_department varchar(255);
+
+update checkout_records r
+set equipment_type = e.type, borrower_department = u.department
+from equipment e, users u
+where e.id = r.equipment_id and u.id = r.user_id;
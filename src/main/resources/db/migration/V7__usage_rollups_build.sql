@@ -0,0 +1,6 @@
+-- Staging table for the usage rollup backfill. The backfill fills it in
+-- parallel chunks, then replaces the contents of usage_rollups with it in
+-- a single transaction, so reports never see a half-built table and a
+-- failed build leaves the previous rollups in place.
+
+create table usage_rollups_build (like usage_rollups including all);
@@ -0,0 +1,10 @@
+-- No two active reservations of one item may share a day. ReservationIndex
+-- already checks this under a per-item lock; the constraint also holds for
+-- a second application instance or a manual insert. Ranges are inclusive of
+-- both dates, like the index. btree_gist provides the "=" on equipment_id.
+
+create extension if not exists btree_gist;
+
+alter table reservations add constraint ex_reservations_no_overlap
+    exclude using gist (equipment_id with =, daterange(start_date, end_date, '[]') with &&)
+    where (status = 'ACTIVE');
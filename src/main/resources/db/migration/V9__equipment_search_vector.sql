@@ -0,0 +1,15 @@
+-- Full-text search over the catalog (GET /api/equipment/search).
+-- search_vector is kept up to date by PostgreSQL itself on every insert and
+-- update, whoever makes it. Weights rank an internal ID hit above a name
+-- hit, above brand, model or type, above notes. The 'simple' configuration
+-- only lowercases (no stemming or stop words), since most of these fields
+-- are model names and codes rather than prose.
+
+alter table equipment add column search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(internal_id, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(name, '')), 'B') ||
+    setweight(to_tsvector('simple', coalesce(brand, '') || ' ' || coalesce(model, '') || ' ' || coalesce(type, '')), 'C') ||
+    setweight(to_tsvector('simple', coalesce(notes, '')), 'D')
+) stored;
+
+create index idx_equipment_search on equipment using gin (search_vector);
@@ -6,6 +6,7 @@ import * as Requests from './modules/requests.js';
 import * as Approvals from './modules/approvals.js';
 import * as Returns from './modules/returns.js';
 import * as Dashboard from './modules/dashboard.js';
+import * as Events from './modules/events.js';
 import { getAuthHeaders, getDefaultReturnDate } from './utils/helpers.js';
 import ThemeManager from './utils/theme.js';
 
@@ -19,6 +20,9 @@ let addEquipmentModal = null;
 document.addEventListener('DOMContentLoaded', function() {
     // Initialize authentication state first
     Auth.initializeAuth();
+    if (Auth.getCurrentUser()) {
+        Events.connectEvents(getAuthHeaders, handleLiveEvent);
+    }
 
     // Load dashboard and equipment on initial page load
     Dashboard.loadDashboard();
@@ -77,6 +81,7 @@ async function handleLogin() {
     if (user) {
         currentUser = user;
         Auth.setCurrentUser(user);
+        Events.connectEvents(getAuthHeaders, handleLiveEvent);
         showEquipment();
     }
 }
@@ -87,10 +92,54 @@ async function handleRegister() {
     if (user) {
         currentUser = user;
         Auth.setCurrentUser(user);
+        Events.connectEvents(getAuthHeaders, handleLiveEvent);
         showEquipment();
     }
 }
 
+// Debounce helper so a burst of events triggers one reload
+function debounce(fn, delay) {
+    let timer = null;
+    return () => {
+        clearTimeout(timer);
+        timer = setTimeout(fn, delay);
+    };
+}
+
+const reloadApprovals = debounce(() => Approvals.loadPendingApprovals(getAuthHeaders, getDefaultReturnDate), 300);
+const reloadMyRequests = debounce(() => Requests.loadMyRequests(Auth.getCurrentUser(), getAuthHeaders), 300);
+const reloadCheckedOut = debounce(() => Returns.loadCheckedOut(getAuthHeaders), 300);
+const reloadDashboard = debounce(() => Dashboard.loadDashboard(), 1000);
+
+// Live event handler - patch the visible lists instead of re-fetching them
+function handleLiveEvent(type, event) {
+    const user = Auth.getCurrentUser();
+
+    if (type === 'resync') {
+        // The server could not replay what we missed; reload whatever is on screen
+        if (document.getElementById('approvalsSection').style.display !== 'none') reloadApprovals();
+        if (document.getElementById('requestsSection').style.display !== 'none') reloadMyRequests();
+        if (document.getElementById('checkedOutSection').style.display !== 'none') reloadCheckedOut();
+        Equipment.loadEquipment(user);
+        reloadDashboard();
+        return;
+    }
+
+    if (type.startsWith('EQUIPMENT_')) {
+        Equipment.applyEquipmentEvent(type, event);
+    }
+    if (type.startsWith('REQUEST_')) {
+        Approvals.applyRequestEvent(type, event, reloadApprovals);
+        if (user && event.userId === user.id) {
+            Requests.applyRequestEvent(type, event, reloadMyRequests);
+        }
+    }
+    if (type === 'REQUEST_FULFILLED' || type === 'RECORD_RETURNED') {
+        Returns.applyCheckoutEvent(type, event, reloadCheckedOut);
+    }
+    reloadDashboard();
+}
+
 // Navigation functions - exposed globally
 window.showLogin = function() {
     Navigation.showLogin();
@@ -127,6 +176,7 @@ window.showCheckedOut = function() {
 };
 
 window.logout = function() {
+    Events.disconnectEvents();
     Auth.logout();
     currentUser = null;
     showEquipment();
@@ -159,6 +209,16 @@ window.filterEquipmentByType = function() {
     Equipment.filterEquipmentByType();
 };
 
+// Equipment search function - exposed globally
+window.searchEquipment = function() {
+    Equipment.searchEquipment();
+};
+
+// Load the next page of equipment - exposed globally
+window.loadMoreEquipment = function() {
+    Equipment.loadMoreEquipment();
+};
+
 // View toggle function - exposed globally
 window.toggleView = function(viewMode) {
     Equipment.toggleView(viewMode);
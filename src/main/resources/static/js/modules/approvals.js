@@ -1,17 +1,39 @@
 // Approvals module
 
-export async function loadPendingApprovals(getAuthHeaders, getDefaultReturnDate) {
-    try {
-        // Load both pending AND approved requests
-        const response = await fetch('/api/checkout/requests', {
+const APPROVALS_PAGE_SIZE = 200; // The server's largest page
+
+// Every pending and approved request (filtered on the server), following the "next" cursor
+async function fetchOpenRequests(getAuthHeaders) {
+    const requests = [];
+    let cursor = null;
+    do {
+        const params = new URLSearchParams({ limit: APPROVALS_PAGE_SIZE });
+        params.append('status', 'PENDING');
+        params.append('status', 'APPROVED');
+        if (cursor) {
+            params.append('cursor', cursor);
+        }
+        const response = await fetch(`/api/checkout/requests?${params}`, {
             headers: getAuthHeaders()
         });
+        if (!response.ok) {
+            throw new Error(`Loading requests failed with status ${response.status}`);
+        }
+        const page = await response.json();
+        requests.push(...page.items);
+        cursor = page.next;
+    } while (cursor);
+    return requests;
+}
 
-        const allRequests = await response.json();
+export async function loadPendingApprovals(getAuthHeaders, getDefaultReturnDate) {
+    try {
+        // Load both pending AND approved requests, every page of them
+        const requests = await fetchOpenRequests(getAuthHeaders);
 
-        // Filter for pending and approved requests
-        const pendingRequests = allRequests.filter(r => r.status === 'PENDING');
-        const approvedRequests = allRequests.filter(r => r.status === 'APPROVED');
+        // Split into pending and approved requests
+        const pendingRequests = requests.filter(r => r.status === 'PENDING');
+        const approvedRequests = requests.filter(r => r.status === 'APPROVED');
 
         const approvalsList = document.getElementById('approvalsList');
         approvalsList.innerHTML = '';
@@ -24,7 +46,7 @@ export async function loadPendingApprovals(getAuthHeaders, getDefaultReturnDate)
                 const equipmentNames = request.equipmentItems.map(e => e.name).join(', ');
 
                 const card = `
-                    <div class="card mb-3">
+                    <div class="card mb-3" id="approval-card-${request.id}">
                         <div class="card-body">
                             <div class="d-flex justify-content-between align-items-start">
                                 <div>
@@ -65,7 +87,7 @@ export async function loadPendingApprovals(getAuthHeaders, getDefaultReturnDate)
                 const equipmentNames = request.equipmentItems.map(e => e.name).join(', ');
 
                 const card = `
-                    <div class="card mb-3 border-success">
+                    <div class="card mb-3 border-success" id="approval-card-${request.id}">
                         <div class="card-body">
                             <div class="d-flex justify-content-between align-items-start">
                                 <div>
@@ -205,3 +227,19 @@ export async function rejectRequest(requestId, currentUser, getAuthHeaders, load
     }
 }
 
+// Apply a live request event to the approvals list (only while it is on screen)
+export function applyRequestEvent(type, event, reload) {
+    if (document.getElementById('approvalsSection').style.display === 'none') {
+        return;
+    }
+    if (type === 'REQUEST_REJECTED' || type === 'REQUEST_FULFILLED') {
+        // Finished requests simply drop off the list
+        const card = document.getElementById(`approval-card-${event.entityId}`);
+        if (card) {
+            card.remove();
+        }
+    } else if (type === 'REQUEST_CREATED' || type === 'REQUEST_APPROVED') {
+        // New or moved cards need the full request, so fetch the list again
+        reload();
+    }
+}
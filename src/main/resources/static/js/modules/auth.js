@@ -2,6 +2,7 @@
 import { getAuthHeaders } from '../utils/helpers.js';
 
 let currentUser = null;
+let refreshTimer = null;
 
 export function getCurrentUser() {
     return currentUser;
@@ -111,10 +112,10 @@ export async function login() {
             const data = await response.json();
             currentUser = data;
 
-            // Store credentials for future requests (Basic Auth)
-            const credentials = btoa(username + ':' + password);
-            localStorage.setItem('authCredentials', credentials);
-            localStorage.setItem('currentUser', JSON.stringify(data));
+            // Store signed tokens for future requests (no password kept in the browser)
+            storeTokens(data);
+            const { accessToken, refreshToken, tokenType, expiresIn, ...user } = data;
+            localStorage.setItem('currentUser', JSON.stringify(user));
 
             // Update UI
             document.getElementById('loginBtn').style.display = 'none';
@@ -145,9 +146,59 @@ export async function login() {
     }
 }
 
+// Save a token pair from /api/auth/login or /api/auth/refresh
+function storeTokens(data) {
+    localStorage.setItem('accessToken', data.accessToken);
+    localStorage.setItem('refreshToken', data.refreshToken);
+    localStorage.setItem('accessTokenExpiresAt', String(Date.now() + data.expiresIn * 1000));
+    scheduleTokenRefresh();
+}
+
+// Refresh the access token one minute before it expires
+function scheduleTokenRefresh() {
+    clearTimeout(refreshTimer);
+    const expiresAt = Number(localStorage.getItem('accessTokenExpiresAt'));
+    if (!expiresAt) return;
+    const delay = Math.max(0, expiresAt - Date.now() - 60000);
+    refreshTimer = setTimeout(refreshTokens, delay);
+}
+
+export async function refreshTokens() {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) return false;
+
+    try {
+        const response = await fetch('/api/auth/refresh', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json'
+            },
+            body: JSON.stringify({ refreshToken })
+        });
+
+        if (response.ok) {
+            storeTokens(await response.json());
+            return true;
+        }
+    } catch (error) {
+        console.error('Token refresh error:', error);
+    }
+    // Refresh token expired or account deactivated - log out
+    logout();
+    return false;
+}
+
+function clearTokens() {
+    clearTimeout(refreshTimer);
+    localStorage.removeItem('accessToken');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('accessTokenExpiresAt');
+    localStorage.removeItem('authCredentials'); // Basic credentials from older versions
+}
+
 export function logout() {
     currentUser = null;
-    localStorage.removeItem('authCredentials');
+    clearTokens();
     localStorage.removeItem('currentUser');
 
     document.getElementById('loginBtn').style.display = 'block';
@@ -164,6 +215,12 @@ export function logout() {
 // Initialize auth state on page load
 export function initializeAuth() {
     const storedUser = localStorage.getItem('currentUser');
+    if (storedUser && !localStorage.getItem('refreshToken')) {
+        // Logged in by an older version with Basic credentials - ask to log in again
+        localStorage.removeItem('currentUser');
+        clearTokens();
+        return;
+    }
     if (storedUser) {
         try {
             const userData = JSON.parse(storedUser);
@@ -182,11 +239,14 @@ export function initializeAuth() {
                 document.getElementById('managerNav2').style.display = 'block';
                 document.getElementById('addEquipmentBtn').style.display = 'block';
             }
+
+            // Keep the access token fresh (refreshes right away if it already expired)
+            scheduleTokenRefresh();
         } catch (error) {
             console.error('Error parsing stored user data:', error);
             // Clear invalid data
             localStorage.removeItem('currentUser');
-            localStorage.removeItem('authCredentials');
+            clearTokens();
         }
     }
 }
@@ -2,25 +2,27 @@
 import { getAuthHeaders } from '../utils/helpers.js';
 
 export async function loadDashboard() {
+    // Counts are only shown to logged-in users
+    if (!localStorage.getItem('accessToken')) {
+        updateDashboardCounts('-', '-', '-');
+        return;
+    }
     try {
-        // Load equipment data to calculate metrics
-        const [equipmentResponse, requestsResponse] = await Promise.all([
-            fetch('/api/equipment'),
-            fetch('/api/checkout-requests', {
-                headers: getAuthHeaders()
-            }).catch(() => ({ json: () => [] })) // Handle case when not logged in
-        ]);
-
-        const equipment = await equipmentResponse.json();
-        const requests = requestsResponse.json ? await requestsResponse.json() : [];
-
-        // Calculate metrics
-        const availableCount = equipment.filter(item => item.status === 'AVAILABLE').length;
-        const checkedOutCount = equipment.filter(item => item.status === 'CHECKED_OUT').length;
-        const pendingCount = requests.filter(req => req.status === 'PENDING').length;
+        // Counts are aggregated on the server
+        const response = await fetch('/api/dashboard/summary', {
+            headers: getAuthHeaders()
+        });
+        if (!response.ok) {
+            throw new Error('Dashboard request failed: ' + response.status);
+        }
+        const summary = await response.json();
 
         // Update dashboard display
-        updateDashboardCounts(availableCount, checkedOutCount, pendingCount);
+        updateDashboardCounts(
+            summary.equipmentByStatus.AVAILABLE,
+            summary.equipmentByStatus.CHECKED_OUT,
+            summary.requestsByStatus.PENDING
+        );
 
     } catch (error) {
         console.error('Error loading dashboard:', error);
@@ -3,27 +3,82 @@
 let addEquipmentModal = null;
 let currentViewMode = 'grid'; // Default to grid view
 let currentEquipmentData = []; // Store equipment data for view switching
-let allEquipmentData = []; // Store all equipment for filtering
+let nextEquipmentCursor = null; // Cursor for the next page of equipment (null when no more pages)
+
+let searchTimer = null; // Debounce timer for the search box
+
+const EQUIPMENT_PAGE_SIZE = 60;
+const SEARCH_LIMIT = 30;
+const SEARCH_DEBOUNCE_MS = 200;
 
 export function setAddEquipmentModal(modal) {
     addEquipmentModal = modal;
 }
 
-// Equipment filtering by type
+// Equipment filtering by type (filtered on the server)
 export function filterEquipmentByType() {
-    const selectedType = document.getElementById('equipmentTypeFilter').value;
-    const filteredEquipment = selectedType
-        ? allEquipmentData.filter(item => item.type === selectedType)
-        : allEquipmentData;
+    const searchBox = document.getElementById('equipmentSearch');
+    if (searchBox && searchBox.value.trim()) {
+        searchEquipment();
+        return;
+    }
+    const currentUser = localStorage.getItem('currentUser') ? JSON.parse(localStorage.getItem('currentUser')) : null;
+    loadEquipment(currentUser);
+}
 
-    currentEquipmentData = filteredEquipment;
+// Search as the user types (ranked on the server); an empty box goes back to the normal list
+export function searchEquipment() {
+    clearTimeout(searchTimer);
+    searchTimer = setTimeout(async () => {
+        const currentUser = localStorage.getItem('currentUser') ? JSON.parse(localStorage.getItem('currentUser')) : null;
+        const query = document.getElementById('equipmentSearch').value.trim();
+        if (!query) {
+            loadEquipment(currentUser);
+            return;
+        }
+        try {
+            const params = new URLSearchParams({ q: query, limit: SEARCH_LIMIT });
+            const response = await fetch(`/api/equipment/search?${params}`);
+            const results = await response.json();
+
+            // Ignore responses for text that has since changed
+            if (document.getElementById('equipmentSearch').value.trim() !== query) {
+                return;
+            }
+            const typeFilter = document.getElementById('equipmentTypeFilter');
+            currentEquipmentData = typeFilter && typeFilter.value
+                ? results.filter(item => item.type === typeFilter.value)
+                : results;
+            nextEquipmentCursor = null;
+            renderCurrentView(currentUser);
+        } catch (error) {
+            console.error('Error searching equipment:', error);
+        }
+    }, SEARCH_DEBOUNCE_MS);
+}
 
-    // Re-render with filtered data
+// Load the next page of equipment and append it to the current view
+export function loadMoreEquipment() {
     const currentUser = localStorage.getItem('currentUser') ? JSON.parse(localStorage.getItem('currentUser')) : null;
+    loadEquipment(currentUser, true);
+}
+
+// Render the current view and a "Load more" button when there are more pages
+function renderCurrentView(currentUser) {
     if (currentViewMode === 'grid') {
-        renderGridView(filteredEquipment, currentUser);
+        renderGridView(currentEquipmentData, currentUser);
     } else {
-        renderListView(filteredEquipment, currentUser);
+        renderListView(currentEquipmentData, currentUser);
+    }
+
+    if (nextEquipmentCursor) {
+        document.getElementById('equipmentList').innerHTML += `
+            <div class="col-12 text-center my-3">
+                <button class="btn btn-outline-primary btn-sm" onclick="window.loadMoreEquipment()">
+                    <i class="bi bi-arrow-down-circle"></i> Load more
+                </button>
+            </div>
+        `;
     }
 }
 
@@ -145,21 +200,26 @@ function renderListView(equipment, currentUser) {
     }
 }
 
-export async function loadEquipment(currentUser) {
+export async function loadEquipment(currentUser, append = false) {
     try {
-        const response = await fetch('/api/equipment');
-        const equipment = await response.json();
+        const params = new URLSearchParams({ limit: EQUIPMENT_PAGE_SIZE });
+        const typeFilter = document.getElementById('equipmentTypeFilter');
+        if (typeFilter && typeFilter.value) {
+            params.append('type', typeFilter.value);
+        }
+        if (append && nextEquipmentCursor) {
+            params.append('cursor', nextEquipmentCursor);
+        }
+
+        const response = await fetch(`/api/equipment?${params}`);
+        const page = await response.json();
 
         // Store equipment data for view switching
-        currentEquipmentData = equipment;
-        allEquipmentData = equipment; // Store all equipment data for filtering
+        currentEquipmentData = append ? currentEquipmentData.concat(page.items) : page.items;
+        nextEquipmentCursor = page.next;
 
         // Render based on current view mode
-        if (currentViewMode === 'grid') {
-            renderGridView(equipment, currentUser);
-        } else {
-            renderListView(equipment, currentUser);
-        }
+        renderCurrentView(currentUser);
 
     } catch (error) {
         console.error('Error loading equipment:', error);
@@ -188,11 +248,7 @@ export function toggleView(viewMode) {
 
     // Re-render equipment with current data
     const currentUser = localStorage.getItem('currentUser') ? JSON.parse(localStorage.getItem('currentUser')) : null;
-    if (currentViewMode === 'grid') {
-        renderGridView(currentEquipmentData, currentUser);
-    } else {
-        renderListView(currentEquipmentData, currentUser);
-    }
+    renderCurrentView(currentUser);
 
     // Store preference in localStorage
     localStorage.setItem('equipmentViewMode', viewMode);
@@ -271,3 +327,20 @@ export async function submitAddEquipment(getAuthHeaders, callback) {
         document.getElementById('addEquipmentError').style.display = 'block';
     }
 }
+
+// Apply a live equipment event to the loaded list (status/condition changes and deletes)
+export function applyEquipmentEvent(type, event) {
+    const currentUser = localStorage.getItem('currentUser') ? JSON.parse(localStorage.getItem('currentUser')) : null;
+    if (type === 'EQUIPMENT_DELETED') {
+        currentEquipmentData = currentEquipmentData.filter(item => item.id !== event.entityId);
+    } else if (type === 'EQUIPMENT_STATUS_CHANGED' || type === 'EQUIPMENT_UPDATED') {
+        const item = currentEquipmentData.find(item => item.id === event.entityId);
+        if (!item) {
+            return;
+        }
+        Object.assign(item, event.data);
+    } else {
+        return; // New items show up on the next load
+    }
+    renderCurrentView(currentUser);
+}
@@ -0,0 +1,100 @@
+// Events module - live updates from /api/events (Server-Sent Events)
+//
+// Uses fetch instead of EventSource so the bearer token can be sent.
+// Remembers the last event id and reconnects with Last-Event-ID, so
+// nothing is missed across short disconnects; a "resync" event means the
+// server could not replay and the lists should be reloaded once.
+
+let controller = null;
+let lastEventId = null;
+
+const MIN_RETRY_MS = 1000;
+const MAX_RETRY_MS = 30000;
+
+export function connectEvents(getAuthHeaders, onEvent) {
+    disconnectEvents();
+    controller = new AbortController();
+    runStream(getAuthHeaders, onEvent, controller.signal);
+}
+
+export function disconnectEvents() {
+    if (controller) {
+        controller.abort();
+        controller = null;
+    }
+    lastEventId = null;
+}
+
+// Keep a stream open, reconnecting with backoff until disconnected
+async function runStream(getAuthHeaders, onEvent, signal) {
+    let retryDelay = MIN_RETRY_MS;
+    while (!signal.aborted) {
+        try {
+            // Headers are read on every attempt so a refreshed token is picked up
+            const headers = { ...getAuthHeaders(), 'Accept': 'text/event-stream' };
+            delete headers['Content-Type'];
+            if (lastEventId) {
+                headers['Last-Event-ID'] = lastEventId;
+            }
+
+            const response = await fetch('/api/events', { headers, signal });
+            if (!response.ok) {
+                throw new Error(`Event stream failed with status ${response.status}`);
+            }
+            retryDelay = MIN_RETRY_MS;
+            await readEvents(response.body, onEvent);
+        } catch (error) {
+            if (signal.aborted) {
+                return;
+            }
+            console.warn('Event stream disconnected:', error.message);
+        }
+        await new Promise(resolve => setTimeout(resolve, retryDelay));
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_MS);
+    }
+}
+
+// Parse the text/event-stream body and hand each event to onEvent(name, data)
+async function readEvents(body, onEvent) {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    while (true) {
+        const { value, done } = await reader.read();
+        if (done) {
+            return;
+        }
+        buffer += value.replace(/\r\n?/g, '\n');
+
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+            const block = buffer.slice(0, boundary);
+            buffer = buffer.slice(boundary + 2);
+
+            let name = 'message';
+            let id = null;
+            const dataLines = [];
+            block.split('\n').forEach(line => {
+                if (!line || line.startsWith(':')) {
+                    return; // Heartbeat comment
+                }
+                const colon = line.indexOf(':');
+                const field = colon >= 0 ? line.slice(0, colon) : line;
+                const text = colon >= 0 ? line.slice(colon + 1).replace(/^ /, '') : '';
+                if (field === 'event') name = text;
+                else if (field === 'id') id = text;
+                else if (field === 'data') dataLines.push(text);
+            });
+
+            if (id) {
+                lastEventId = id;
+            }
+            if (dataLines.length > 0) {
+                try {
+                    onEvent(name, JSON.parse(dataLines.join('\n')));
+                } catch (error) {
+                    console.error('Error handling event:', error);
+                }
+            }
+        }
+    }
+}
@@ -113,7 +113,7 @@ export async function loadMyRequests(currentUser, getAuthHeaders) {
                                     <strong>Requested:</strong> ${request.requestedDate}
                                 </p>
                             </div>
-                            <span class="badge bg-${statusColor}">${request.status}</span>
+                            <span class="badge bg-${statusColor}" id="request-status-${request.id}">${request.status}</span>
                         </div>
                         ${request.approvalNotes ? `<p class="card-text"><small class="text-muted">Notes: ${request.approvalNotes}</small></p>` : ''}
                     </div>
@@ -127,3 +127,20 @@ export async function loadMyRequests(currentUser, getAuthHeaders) {
     }
 }
 
+// Apply a live event about one of the user's own requests (only while the list is on screen)
+export function applyRequestEvent(type, event, reload) {
+    if (document.getElementById('requestsSection').style.display === 'none') {
+        return;
+    }
+    const badge = document.getElementById(`request-status-${event.entityId}`);
+    if (!badge || !event.data.status) {
+        reload(); // A request we have not rendered yet (e.g. made in another tab)
+        return;
+    }
+    const status = event.data.status;
+    const statusColor = status === 'PENDING' ? 'warning' :
+    status === 'APPROVED' ? 'success' :
+    status === 'REJECTED' ? 'danger' : 'secondary';
+    badge.className = `badge bg-${statusColor}`;
+    badge.textContent = status;
+}
@@ -25,7 +25,7 @@ export async function loadCheckedOut(getAuthHeaders) {
             const isOverdue = new Date(record.expectedReturnDate) < new Date();
 
             const card = `
-                <div class="card mb-3 ${isOverdue ? 'border-danger' : ''}">
+                <div class="card mb-3 ${isOverdue ? 'border-danger' : ''}" id="record-card-${record.id}">
                     <div class="card-body">
                         <div class="d-flex justify-content-between align-items-start">
                             <div>
@@ -113,3 +113,18 @@ export async function submitReturn(currentUser, getAuthHeaders, loadCheckedOut,
     }
 }
 
+// Apply a live checkout event to the checked-out list (only while it is on screen)
+export function applyCheckoutEvent(type, event, reload) {
+    if (document.getElementById('checkedOutSection').style.display === 'none') {
+        return;
+    }
+    if (type === 'RECORD_RETURNED') {
+        const card = document.getElementById(`record-card-${event.entityId}`);
+        if (card) {
+            card.remove();
+        }
+    } else if (type === 'REQUEST_FULFILLED') {
+        // Newly handed out items need full record details
+        reload();
+    }
+}
@@ -1,9 +1,9 @@
 // Helper utilities
 export function getAuthHeaders() {
-    const credentials = localStorage.getItem('authCredentials');
-    if (credentials) {
+    const accessToken = localStorage.getItem('accessToken');
+    if (accessToken) {
         return {
-            'Authorization': 'Basic ' + credentials,
+            'Authorization': 'Bearer ' + accessToken,
             'Content-Type': 'application/json'
         };
     }
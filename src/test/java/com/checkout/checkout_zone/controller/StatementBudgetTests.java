@@ -0,0 +1,506 @@
+package com.checkout.checkout_zone.controller;
+
+import com.checkout.checkout_zone.config.StatementBudget;
+import com.checkout.checkout_zone.config.StatementBudgetInterceptor;
+import com.checkout.checkout_zone.config.StatementCounter;
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.CheckoutRequest;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.entity.Role;
+import com.checkout.checkout_zone.entity.User;
+import com.checkout.checkout_zone.service.CheckoutService;
+import com.checkout.checkout_zone.service.EquipmentService;
+import com.checkout.checkout_zone.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * SQL statement budgets of every CheckoutController, EquipmentController,
+ * UserController and ReportController method, against an embedded PostgreSQL.
+ *
+ * fail-on-exceed is on, so a handler that goes over its @StatementBudget
+ * fails the request; withinBudget() also checks the count directly. List
+ * endpoints are called with several rows of data, so a per-row query would
+ * show up as a blown budget.
+ */
+@SpringBootTest(properties = {
+		"checkout.sql.budget.fail-on-exceed=true",
+		"checkout.security.token.key-file=target/test-token.key",
+		"spring.jpa.show-sql=false",
+		// Budgets are for a cold cache: a second-level cache hit must not hide a per-row query
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class StatementBudgetTests {
+
+	private static final String PASSWORD = "budget-test-password";
+	private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private EquipmentService equipmentService;
+	@Autowired
+	private CheckoutService checkoutService;
+
+	private User admin;
+	private User manager;
+	private User user;
+
+	@BeforeEach
+	void createUsers() {
+		admin = newUser(Role.ADMIN);
+		manager = newUser(Role.EQUIPMENT_MANAGER);
+		user = newUser(Role.USER);
+	}
+
+	@Test
+	void everyEndpointDeclaresABudget() {
+		for (Class<?> controller : List.of(CheckoutController.class, EquipmentController.class,
+				UserController.class, ReportController.class)) {
+			for (Method method : controller.getDeclaredMethods()) {
+				if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+					assertThat(method.getAnnotation(StatementBudget.class))
+							.as("@StatementBudget on %s.%s", controller.getSimpleName(), method.getName())
+							.isNotNull();
+				}
+			}
+		}
+	}
+
+	@Test
+	void statementOverBudgetFails() {
+		statementCounter.begin("test", 1);
+		try {
+			statementCounter.inspect("select 1");
+			assertThatThrownBy(() -> statementCounter.inspect("select 1"))
+					.isInstanceOf(StatementCounter.StatementBudgetExceededException.class);
+		} finally {
+			assertThat(statementCounter.end().getCount()).isEqualTo(2);
+		}
+	}
+
+	// UserController
+
+	@Test
+	void createUser() throws Exception {
+		int n = SEQUENCE.incrementAndGet();
+		mockMvc.perform(as(admin, post("/api/users")).contentType(MediaType.APPLICATION_JSON)
+						.content(json(userBody("created" + n, Role.USER))))
+				.andExpect(status().isCreated())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getAllUsers() throws Exception {
+		mockMvc.perform(as(admin, get("/api/users")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getUserById() throws Exception {
+		mockMvc.perform(as(admin, get("/api/users/{id}", user.getId())))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getUserByUsername() throws Exception {
+		mockMvc.perform(as(admin, get("/api/users/username/{username}", user.getUsername())))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void updateUser() throws Exception {
+		Map<String, Object> body = userBody(user.getUsername(), Role.USER);
+		body.put("department", "Facilities");
+		mockMvc.perform(as(admin, put("/api/users/{id}", user.getId())).contentType(MediaType.APPLICATION_JSON)
+						.content(json(body)))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void deactivateUser() throws Exception {
+		mockMvc.perform(as(admin, patch("/api/users/{id}/deactivate", user.getId())))
+				.andExpect(status().isNoContent())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void deleteUser() throws Exception {
+		mockMvc.perform(as(admin, delete("/api/users/{id}", user.getId())))
+				.andExpect(status().isNoContent())
+				.andExpect(withinBudget());
+	}
+
+	// EquipmentController
+
+	@Test
+	void createEquipment() throws Exception {
+		mockMvc.perform(as(admin, post("/api/equipment")).contentType(MediaType.APPLICATION_JSON)
+						.content(json(equipmentBody("BUD-NEW-" + SEQUENCE.incrementAndGet()))))
+				.andExpect(status().isCreated())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void importEquipment() throws Exception {
+		StringBuilder csv = new StringBuilder("internalId,name,type,condition\n");
+		int batch = SEQUENCE.incrementAndGet();
+		for (int i = 0; i < 120; i++) {
+			csv.append("BUD-IMP-").append(batch).append('-').append(i).append(",Imported laptop,Laptop,GOOD\n");
+		}
+		// Unbounded by declaration, but one chunk must not cost a statement per row:
+		// one duplicate check, a sequence fetch and an insert batch per 50 rows, one rollup upsert
+		mockMvc.perform(as(admin, post("/api/equipment/import")).contentType("text/csv").content(csv.toString()))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget())
+				.andExpect(result -> assertThat(statements(result)).isLessThanOrEqualTo(12));
+	}
+
+	@Test
+	void getAllEquipment() throws Exception {
+		newEquipment(3);
+		mockMvc.perform(as(user, get("/api/equipment")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void searchEquipment() throws Exception {
+		newEquipment(3);
+		mockMvc.perform(as(user, get("/api/equipment/search").param("q", "budget")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getEquipmentById() throws Exception {
+		Equipment equipment = newEquipment(1).get(0);
+		mockMvc.perform(as(user, get("/api/equipment/{id}", equipment.getId())))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getAvailableEquipment() throws Exception {
+		newEquipment(3);
+		mockMvc.perform(as(user, get("/api/equipment/available")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getEquipmentByType() throws Exception {
+		newEquipment(3);
+		mockMvc.perform(as(user, get("/api/equipment/type/{type}", "Laptop")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void updateEquipment() throws Exception {
+		Equipment equipment = newEquipment(1).get(0);
+		Map<String, Object> body = equipmentBody(equipment.getInternalId());
+		body.put("location", "Storage B");
+		// A type change also moves the item between type rollups
+		body.put("type", "Tablet");
+		body.put("version", equipment.getVersion());
+		mockMvc.perform(as(admin, put("/api/equipment/{id}", equipment.getId())).contentType(MediaType.APPLICATION_JSON)
+						.content(json(body)))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void changeStatus() throws Exception {
+		Equipment equipment = newEquipment(1).get(0);
+		mockMvc.perform(as(manager, put("/api/equipment/{id}/status", equipment.getId())).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("status", EquipmentStatus.IN_MAINTENANCE))))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void deleteEquipment() throws Exception {
+		Equipment equipment = newEquipment(1).get(0);
+		mockMvc.perform(as(admin, delete("/api/equipment/{id}", equipment.getId())))
+				.andExpect(status().isNoContent())
+				.andExpect(withinBudget());
+	}
+
+	// CheckoutController
+
+	@Test
+	void createCheckoutRequest() throws Exception {
+		List<Long> ids = newEquipment(3).stream().map(Equipment::getId).toList();
+		mockMvc.perform(as(user, post("/api/checkout/request")).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("equipmentIds", ids, "purpose", "Budget test",
+								"neededByDate", LocalDate.now().plusDays(3).toString()))))
+				.andExpect(status().isCreated())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getAllCheckoutRequests() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			newRequest(user, 2);
+		}
+		mockMvc.perform(as(user, get("/api/checkout/requests")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getPendingRequests() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			newRequest(user, 2);
+		}
+		mockMvc.perform(as(manager, get("/api/checkout/requests/pending")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getRequestsByUser() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			newRequest(user, 2);
+		}
+		mockMvc.perform(as(user, get("/api/checkout/requests/user/{userId}", user.getId())))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void approveRequest() throws Exception {
+		CheckoutRequest request = newRequest(user, 3);
+		mockMvc.perform(as(manager, post("/api/checkout/requests/{id}/approve", request.getId()))
+						.contentType(MediaType.APPLICATION_JSON).content(json(Map.of("notes", "ok"))))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void rejectRequest() throws Exception {
+		CheckoutRequest request = newRequest(user, 3);
+		mockMvc.perform(as(manager, post("/api/checkout/requests/{id}/reject", request.getId()))
+						.contentType(MediaType.APPLICATION_JSON).content(json(Map.of("notes", "no"))))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void fulfillRequest() throws Exception {
+		CheckoutRequest request = checkoutService.approveRequest(newRequest(user, 3).getId(), manager, null);
+		mockMvc.perform(as(manager, post("/api/checkout/requests/{id}/fulfill", request.getId()))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("expectedReturnDate", LocalDate.now().plusDays(7).toString()))))
+				.andExpect(status().isCreated())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void returnEquipment() throws Exception {
+		CheckoutRecord record = newCheckouts(user, 1).get(0);
+		mockMvc.perform(as(manager, post("/api/checkout/records/{id}/return", record.getId()))
+						.contentType(MediaType.APPLICATION_JSON).content(json(Map.of("condition", "GOOD"))))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void returnEquipmentBatch() throws Exception {
+		List<Long> recordIds = newCheckouts(user, 3).stream().map(CheckoutRecord::getId).toList();
+		mockMvc.perform(as(manager, post("/api/checkout/records/return")).contentType(MediaType.APPLICATION_JSON)
+						.content(json(Map.of("recordIds", recordIds, "condition", "GOOD"))))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getCurrentlyCheckedOut() throws Exception {
+		newCheckouts(user, 3);
+		mockMvc.perform(as(manager, get("/api/checkout/records/current")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	@Test
+	void getOverdueRecords() throws Exception {
+		CheckoutRequest request = checkoutService.approveRequest(newRequest(user, 3).getId(), manager, null);
+		List<Long> recordIds = checkoutService.fulfillCheckoutRequest(request.getId(), manager, LocalDate.now().minusDays(2))
+				.stream().map(CheckoutRecord::getId).toList();
+		MvcResult result = mockMvc.perform(as(manager, get("/api/checkout/records/overdue")))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget())
+				.andReturn();
+		List<Long> overdueIds = new ArrayList<>();
+		objectMapper.readTree(result.getResponse().getContentAsString())
+				.forEach(record -> overdueIds.add(record.path("recordId").asLong()));
+		assertThat(overdueIds).containsAll(recordIds);
+	}
+
+	@Test
+	void getUserCurrentCheckouts() throws Exception {
+		newCheckouts(user, 3);
+		mockMvc.perform(as(user, get("/api/checkout/records/user/{userId}/current", user.getId())))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	// ReportController
+
+	@Test
+	void getUtilization() throws Exception {
+		List<CheckoutRecord> records = newCheckouts(user, 3);
+		checkoutService.returnEquipment(List.of(records.get(0).getId()), manager, EquipmentCondition.GOOD, null);
+		MvcResult result = mockMvc.perform(as(manager, get("/api/reports/utilization"))
+						.param("dimension", "EQUIPMENT")
+						.param("key", records.get(0).getEquipment().getId().toString()))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget())
+				.andReturn();
+		JsonNode rows = objectMapper.readTree(result.getResponse().getContentAsString()).path("rows");
+		assertThat(rows).hasSize(1);
+		assertThat(rows.get(0).path("checkouts").asLong()).isEqualTo(1);
+		assertThat(rows.get(0).path("returns").asLong()).isEqualTo(1);
+		assertThat(rows.get(0).path("daysOwned").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void getUtilizationByDepartment() throws Exception {
+		newCheckouts(user, 3);
+		mockMvc.perform(as(manager, get("/api/reports/utilization")).param("dimension", "DEPARTMENT"))
+				.andExpect(status().isOk())
+				.andExpect(withinBudget());
+	}
+
+	// Checks the statement count the interceptor left on the request against the handler's budget
+	private static ResultMatcher withinBudget() {
+		return result -> {
+			HandlerMethod handler = (HandlerMethod) result.getHandler();
+			StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+			assertThat(budget).as("@StatementBudget on %s", handler.getShortLogMessage()).isNotNull();
+			if (budget.value() != StatementBudget.UNBOUNDED) {
+				assertThat(statements(result)).as("SQL statements in %s", handler.getShortLogMessage())
+						.isLessThanOrEqualTo(budget.value());
+			}
+		};
+	}
+
+	private static int statements(MvcResult result) {
+		Object count = result.getRequest().getAttribute(StatementBudgetInterceptor.STATEMENTS_ATTRIBUTE);
+		assertThat(count).as("statement count").isNotNull();
+		return (Integer) count;
+	}
+
+	private static MockHttpServletRequestBuilder as(User who, MockHttpServletRequestBuilder request) {
+		return request.with(httpBasic(who.getUsername(), PASSWORD));
+	}
+
+	private String json(Object body) throws Exception {
+		return objectMapper.writeValueAsString(body);
+	}
+
+	private static Map<String, Object> userBody(String username, Role role) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("username", username);
+		body.put("password", PASSWORD);
+		body.put("email", username + "@example.com");
+		body.put("firstName", "Budget");
+		body.put("lastName", "Test");
+		body.put("role", role);
+		body.put("active", true);
+		return body;
+	}
+
+	private static Map<String, Object> equipmentBody(String internalId) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("internalId", internalId);
+		body.put("name", "Budget laptop");
+		body.put("type", "Laptop");
+		body.put("condition", EquipmentCondition.GOOD);
+		body.put("status", EquipmentStatus.AVAILABLE);
+		return body;
+	}
+
+	private User newUser(Role role) {
+		String username = "budget" + SEQUENCE.incrementAndGet();
+		User created = new User();
+		created.setUsername(username);
+		created.setPassword(PASSWORD);
+		created.setEmail(username + "@example.com");
+		created.setFirstName("Budget");
+		created.setLastName("Test");
+		created.setRole(role);
+		return userService.createUser(created);
+	}
+
+	private List<Equipment> newEquipment(int count) {
+		List<Equipment> created = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Equipment equipment = new Equipment();
+			equipment.setInternalId("BUD-" + SEQUENCE.incrementAndGet());
+			equipment.setName("Budget laptop");
+			equipment.setType("Laptop");
+			equipment.setCondition(EquipmentCondition.GOOD);
+			equipment.setStatus(EquipmentStatus.AVAILABLE);
+			created.add(equipmentService.createEquipment(equipment));
+		}
+		return created;
+	}
+
+	private CheckoutRequest newRequest(User requester, int items) {
+		Set<Equipment> equipment = new LinkedHashSet<>(newEquipment(items));
+		return checkoutService.createCheckoutRequest(requester, equipment, "Budget test", LocalDate.now().plusDays(3));
+	}
+
+	private List<CheckoutRecord> newCheckouts(User requester, int items) {
+		CheckoutRequest request = checkoutService.approveRequest(newRequest(requester, items).getId(), manager, null);
+		return checkoutService.fulfillCheckoutRequest(request.getId(), manager, LocalDate.now().plusDays(7));
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.checkout.checkout_zone.service;
+
+import com.checkout.checkout_zone.entity.CheckoutRecord;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/*
+ * The overdue list and return deadlines of DeadlineScheduler, without the
+ * database load or the ticker: records are added and removed the way
+ * CheckoutService does after its transactions commit.
+ */
+class DeadlineSchedulerTests {
+
+	private final DeadlineScheduler scheduler = new DeadlineScheduler(
+			mock(PlatformTransactionManager.class), Duration.ofMinutes(1), 30);
+
+	@Test
+	void pastReturnDateGoesStraightToOverdue() {
+		LocalDate today = LocalDate.now();
+		scheduler.addCheckouts(List.of(record(1L, today.minusDays(3))));
+
+		assertThat(scheduler.getScheduledCount()).isZero();
+		assertThat(scheduler.getOverdueCount()).isEqualTo(1);
+		DeadlineScheduler.OverdueRecord overdue = scheduler.getOverdue().get(0);
+		assertThat(overdue.recordId()).isEqualTo(1L);
+		assertThat(overdue.expectedReturnDate()).isEqualTo(today.minusDays(3));
+		assertThat(overdue.daysOverdue()).isEqualTo(3L);
+	}
+
+	@Test
+	void futureReturnDateIsScheduled() {
+		scheduler.addCheckouts(List.of(record(1L, LocalDate.now().plusDays(1)), record(2L, null)));
+
+		// No return date, nothing to wait for
+		assertThat(scheduler.getScheduledCount()).isEqualTo(1);
+		assertThat(scheduler.getOverdueCount()).isZero();
+	}
+
+	@Test
+	void overdueIsLongestOverdueFirst() {
+		LocalDate today = LocalDate.now();
+		scheduler.addCheckouts(List.of(
+				record(1L, today.minusDays(2)), record(2L, today.minusDays(9)), record(3L, today.minusDays(5))));
+
+		assertThat(scheduler.getOverdue().stream().map(DeadlineScheduler.OverdueRecord::recordId).toList())
+				.containsExactly(2L, 3L, 1L);
+	}
+
+	@Test
+	void returnRemovesDueAndOverdue() {
+		CheckoutRecord overdue = record(1L, LocalDate.now().minusDays(1));
+		CheckoutRecord due = record(2L, LocalDate.now().plusDays(4));
+		scheduler.addCheckouts(List.of(overdue, due));
+
+		scheduler.removeCheckouts(List.of(overdue, due));
+
+		assertThat(scheduler.getOverdueCount()).isZero();
+		assertThat(scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void returnAppliedBeforeFulfillIsNotAddedBack() {
+		CheckoutRecord overdue = record(1L, LocalDate.now().minusDays(1));
+		CheckoutRecord due = record(2L, LocalDate.now().plusDays(4));
+
+		// The return committed and got here first
+		scheduler.removeCheckouts(List.of(overdue, due));
+		scheduler.addCheckouts(List.of(overdue, due));
+
+		assertThat(scheduler.getOverdueCount()).isZero();
+		assertThat(scheduler.getScheduledCount()).isZero();
+	}
+
+	private static CheckoutRecord record(Long id, LocalDate expectedReturnDate) {
+		Equipment equipment = new Equipment();
+		equipment.setId(100 + id);
+		User user = new User();
+		user.setId(200 + id);
+		CheckoutRecord record = new CheckoutRecord();
+		record.setId(id);
+		record.setEquipment(equipment);
+		record.setUser(user);
+		record.setCheckoutDate(LocalDate.now().minusDays(10));
+		record.setExpectedReturnDate(expectedReturnDate);
+		return record;
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.checkout.checkout_zone.service;
+
+import com.checkout.checkout_zone.dto.ImportResult;
+import com.checkout.checkout_zone.entity.Equipment;
+import com.checkout.checkout_zone.entity.EquipmentCondition;
+import com.checkout.checkout_zone.entity.EquipmentStatus;
+import com.checkout.checkout_zone.repository.EquipmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * An equipment CSV export fed back into the bulk import: the ' that
+ * ExportService puts in front of formula-like text is gone again, and
+ * every text column comes back as it was.
+ */
+class EquipmentCsvRoundTripTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final EquipmentRepository equipmentRepository = mock(EquipmentRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	@Test
+	void exportImportsBackUnchanged() throws Exception {
+		List<Equipment> exported = List.of(
+				equipment("RT-1", "=HYPERLINK(\"http://x\")", "-fragile, handle with care"),
+				equipment("RT-2", "+44 adapter", "@desk 4"),
+				equipment("RT-3", "'=already quoted", "'plain apostrophe"),
+				equipment("RT-4", "Plain laptop", null)
+		);
+		when(equipmentRepository.streamAllForExport()).thenAnswer(invocation -> exported.stream());
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		exportService().exportEquipment(true, csv);
+
+		// Guarded for spreadsheets on the way out
+		assertThat(csv.toString(StandardCharsets.UTF_8))
+				.contains("\"'-fragile, handle with care\"")
+				.contains(",'@desk 4")
+				.contains(",''=already quoted,");
+
+		List<Equipment> imported = new ArrayList<>();
+		when(equipmentRepository.findExistingInternalIds(anyCollection())).thenReturn(List.of());
+		when(equipmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Equipment> rows = invocation.getArgument(0);
+			imported.addAll(rows);
+			return rows;
+		});
+		ImportResult result = importService().importCsv(new ByteArrayInputStream(csv.toByteArray()));
+
+		assertThat(result.getImported()).isEqualTo(exported.size());
+		assertThat(imported).extracting(Equipment::getInternalId, Equipment::getName, Equipment::getNotes)
+				.containsExactly(
+						tuple("RT-1", "=HYPERLINK(\"http://x\")", "-fragile, handle with care"),
+						tuple("RT-2", "+44 adapter", "@desk 4"),
+						tuple("RT-3", "'=already quoted", "'plain apostrophe"),
+						tuple("RT-4", "Plain laptop", null)
+				);
+	}
+
+	@Test
+	void guardIsOnlyRemovedWhereTheExportAddedIt() {
+		assertThat(ExportService.removeFormulaGuard("'-3")).isEqualTo("-3");
+		assertThat(ExportService.removeFormulaGuard("''=x")).isEqualTo("'=x");
+		assertThat(ExportService.removeFormulaGuard("'quoted'")).isEqualTo("'quoted'");
+		assertThat(ExportService.removeFormulaGuard("-3")).isEqualTo("-3");
+	}
+
+	private ExportService exportService() {
+		ExportService service = new ExportService(transactionManager);
+		ReflectionTestUtils.setField(service, "equipmentRepository", equipmentRepository);
+		ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+		return service;
+	}
+
+	private EquipmentImportService importService() {
+		EquipmentImportService service = new EquipmentImportService(transactionManager);
+		ReflectionTestUtils.setField(service, "equipmentRepository", equipmentRepository);
+		ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(service, "deadlineScheduler", mock(DeadlineScheduler.class));
+		ReflectionTestUtils.setField(service, "usageRollups", mock(UsageRollupService.class));
+		return service;
+	}
+
+	private static Equipment equipment(String internalId, String name, String notes) {
+		Equipment equipment = new Equipment();
+		equipment.setInternalId(internalId);
+		equipment.setName(name);
+		equipment.setType("Laptop");
+		equipment.setCondition(EquipmentCondition.GOOD);
+		equipment.setStatus(EquipmentStatus.AVAILABLE);
+		equipment.setNotes(notes);
+		return equipment;
+	}
+
+}
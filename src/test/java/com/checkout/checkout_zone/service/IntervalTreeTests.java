@@ -0,0 +1,120 @@
+package com.checkout.checkout_zone.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * IntervalTree on its own: closed-range overlap, boundaries, removal with
+ * rebalancing, and the subtree maxEnd that overlap queries prune by.
+ */
+class IntervalTreeTests {
+
+	private record Range(long start, long end, long id) {}
+
+	@Test
+	void findsOverlapsInStartOrder() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(10, 20, 1, "a");
+		tree.insert(5, 12, 2, "b");
+		tree.insert(30, 40, 3, "c");
+		tree.insert(15, 15, 4, "d");
+
+		assertThat(tree.overlaps(11, 16)).isTrue();
+		assertThat(tree.findOverlapping(11, 16)).containsExactly("b", "a", "d");
+		assertThat(tree.overlaps(21, 29)).isFalse();
+		assertThat(tree.findOverlapping(21, 29)).isEmpty();
+		assertThat(tree.findOverlapping(0, 100)).containsExactly("b", "a", "d", "c");
+	}
+
+	@Test
+	void touchingBoundariesOverlap() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(10, 20, 1, "booked");
+
+		// Both ends are inclusive: a range ending on the first day or starting on the last one clashes
+		assertThat(tree.overlaps(5, 10)).isTrue();
+		assertThat(tree.overlaps(20, 25)).isTrue();
+		assertThat(tree.overlaps(5, 9)).isFalse();
+		assertThat(tree.overlaps(21, 25)).isFalse();
+	}
+
+	@Test
+	void openEndedRangeOverlapsEverythingAfterItsStart() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(100, Long.MAX_VALUE, 1, "open");
+
+		assertThat(tree.overlaps(1_000_000, 1_000_001)).isTrue();
+		assertThat(tree.overlaps(0, 99)).isFalse();
+	}
+
+	@Test
+	void removeTakesOnlyTheMatchingRange() {
+		IntervalTree<String> tree = new IntervalTree<>();
+		tree.insert(10, 20, 1, "a");
+		tree.insert(10, 30, 2, "b");
+
+		assertThat(tree.remove(10, 3)).isFalse();
+		assertThat(tree.remove(11, 1)).isFalse();
+		assertThat(tree.remove(10, 1)).isTrue();
+		assertThat(tree.size()).isEqualTo(1);
+		assertThat(tree.findOverlapping(0, 100)).containsExactly("b");
+		assertThat(tree.overlaps(25, 25)).isTrue();
+	}
+
+	@Test
+	void longRangeDeepInTheTreeIsFoundThroughMaxEnd() {
+		IntervalTree<Long> tree = new IntervalTree<>();
+		// The long range ends up deep on the left as short ones are added and the tree rotates
+		tree.insert(0, 1000, 0, 0L);
+		for (long i = 1; i <= 200; i++) {
+			tree.insert(i * 10, i * 10 + 1, i, i);
+		}
+
+		assertThat(tree.findOverlapping(995, 996)).containsExactly(0L);
+
+		// Removing the short ranges rebalances around it; maxEnd must follow
+		for (long i = 1; i <= 200; i += 2) {
+			tree.remove(i * 10, i);
+		}
+		assertThat(tree.findOverlapping(995, 996)).containsExactly(0L);
+
+		tree.remove(0, 0);
+		assertThat(tree.overlaps(995, 996)).isFalse();
+		assertThat(tree.findOverlapping(0, 5000)).hasSize(100);
+	}
+
+	@Test
+	void randomInsertsAndRemovesMatchABruteForceScan() {
+		Random random = new Random(42);
+		IntervalTree<Range> tree = new IntervalTree<>();
+		List<Range> expected = new ArrayList<>();
+		long nextId = 1;
+		for (int step = 0; step < 5000; step++) {
+			if (expected.isEmpty() || random.nextInt(3) > 0) {
+				long start = random.nextInt(1000);
+				Range range = new Range(start, start + random.nextInt(30), nextId++);
+				tree.insert(range.start(), range.end(), range.id(), range);
+				expected.add(range);
+			} else {
+				Range range = expected.remove(random.nextInt(expected.size()));
+				assertThat(tree.remove(range.start(), range.id())).isTrue();
+			}
+
+			long from = random.nextInt(1030);
+			long to = from + random.nextInt(20);
+			List<Range> overlapping = expected.stream()
+					.filter(r -> r.start() <= to && r.end() >= from)
+					.sorted(Comparator.comparingLong(Range::start).thenComparingLong(Range::id))
+					.toList();
+			assertThat(tree.findOverlapping(from, to)).containsExactlyElementsOf(overlapping);
+			assertThat(tree.overlaps(from, to)).isEqualTo(!overlapping.isEmpty());
+			assertThat(tree.size()).isEqualTo(expected.size());
+		}
+	}
+
+}
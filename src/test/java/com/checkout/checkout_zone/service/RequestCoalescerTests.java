@@ -0,0 +1,175 @@
+package com.checkout.checkout_zone.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * RequestCoalescer on its own: concurrent callers share one flight, a
+ * result is reused only within the window, and failures are handed to the
+ * callers of that flight but never kept.
+ */
+class RequestCoalescerTests {
+
+	private final ExecutorService callers = Executors.newFixedThreadPool(4);
+
+	@AfterEach
+	void stopCallers() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersShareOneFlight() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofHours(1));
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+
+		Future<Object> first = callers.submit(() -> coalescer.coalesce("key", () -> {
+			runs.incrementAndGet();
+			running.countDown();
+			await(release);
+			return new Object();
+		}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		List<Future<Object>> others = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			others.add(callers.submit(() -> coalescer.coalesce("key", () -> {
+				runs.incrementAndGet();
+				return new Object();
+			})));
+		}
+		// All three are waiting on the running flight before it finishes
+		waitUntil(() -> coalescer.getSharedCount() == 3);
+		release.countDown();
+
+		Object result = first.get(5, TimeUnit.SECONDS);
+		for (Future<Object> other : others) {
+			assertThat(other.get(5, TimeUnit.SECONDS)).isSameAs(result);
+		}
+		assertThat(runs.get()).isEqualTo(1);
+		assertThat(coalescer.getComputedCount()).isEqualTo(1L);
+	}
+
+	@Test
+	void resultIsReusedWithinTheWindow() {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofHours(1));
+		AtomicInteger runs = new AtomicInteger();
+
+		Object first = coalescer.coalesce("key", () -> runs.incrementAndGet());
+		Object second = coalescer.coalesce("key", () -> runs.incrementAndGet());
+		Object otherKey = coalescer.coalesce("other", () -> runs.incrementAndGet());
+
+		assertThat(first).isEqualTo(1);
+		assertThat(second).isEqualTo(1);
+		assertThat(otherKey).isEqualTo(2);
+	}
+
+	@Test
+	void resultExpiresAfterTheWindow() throws InterruptedException {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMillis(20));
+		AtomicInteger runs = new AtomicInteger();
+
+		assertThat(coalescer.coalesce("key", () -> runs.incrementAndGet())).isEqualTo(1);
+		Thread.sleep(50);
+		assertThat(coalescer.coalesce("key", () -> runs.incrementAndGet())).isEqualTo(2);
+		assertThat(coalescer.getComputedCount()).isEqualTo(2L);
+	}
+
+	@Test
+	void failureIsNotCached() {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofHours(1));
+		IllegalStateException failure = new IllegalStateException("database down");
+
+		assertThatThrownBy(() -> coalescer.coalesce("key", () -> {
+			throw failure;
+		})).isSameAs(failure);
+		// The next caller starts a new flight instead of getting the old failure
+		assertThat(coalescer.coalesce("key", () -> "recovered")).isEqualTo("recovered");
+		assertThat(coalescer.getComputedCount()).isEqualTo(2L);
+	}
+
+	@Test
+	void failureReachesEveryCallerOfThatFlight() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofHours(1));
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("database down");
+
+		Future<Object> first = callers.submit(() -> coalescer.coalesce("key", () -> {
+			running.countDown();
+			await(release);
+			throw failure;
+		}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		Future<Object> waiting = callers.submit(() -> coalescer.coalesce("key", () -> "not run"));
+		waitUntil(() -> coalescer.getSharedCount() == 1);
+		release.countDown();
+
+		assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCause(failure);
+		assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+				.hasCause(failure);
+	}
+
+	@Test
+	void jsonBodyIsSerializedOncePerFlight() {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofHours(1));
+		ReflectionTestUtils.setField(coalescer, "objectMapper", new ObjectMapper());
+		AtomicInteger runs = new AtomicInteger();
+
+		byte[] first = coalescer.coalesceJson("key", () -> Map.of("id", runs.incrementAndGet()));
+		byte[] second = coalescer.coalesceJson("key", () -> Map.of("id", runs.incrementAndGet()));
+
+		assertThat(new String(first, StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void expiredFlightsAreDroppedWhenANewOneStarts() throws InterruptedException {
+		RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMillis(20));
+
+		// One key per tag, as the ETag endpoints use them
+		coalescer.coalesce("body@\"v1\"", () -> "v1");
+		coalescer.coalesce("body@\"v2\"", () -> "v2");
+		assertThat(coalescer.getFlightCount()).isEqualTo(2);
+		Thread.sleep(50);
+		coalescer.coalesce("body@\"v3\"", () -> "v3");
+
+		assertThat(coalescer.getFlightCount()).isEqualTo(1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime() < deadline).as("condition reached in time").isTrue();
+			Thread.sleep(5);
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.checkout.checkout_zone.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * TimingWheel on its own: every deadline fires at exactly its tick, whether
+ * it was placed in level 0, a higher level or the overflow list, and
+ * cancelled or moved entries never fire at their old tick.
+ */
+class TimingWheelTests {
+
+	// Ticks covered by each level: 64, 64^2, 64^3, 64^4
+	private static final long LEVEL_0 = 64;
+	private static final long LEVEL_1 = 64 * 64;
+	private static final long LEVEL_2 = 64 * 64 * 64;
+	private static final long ALL_LEVELS = 64L * 64 * 64 * 64;
+
+	@Test
+	void firesEachLevelAtItsExactTick() {
+		// Not aligned to any level, so higher-level slots cascade part-way through
+		long start = 1_000_003;
+		TimingWheel<String, Long> wheel = new TimingWheel<>(start);
+		List<Long> deadlines = List.of(
+				start + 1,                  // level 0
+				start + LEVEL_0 - 1,        // level 0 or 1, depending on the digit
+				start + LEVEL_0 + 5,        // level 1
+				start + LEVEL_1 + 17,       // level 2
+				start + LEVEL_2 + 129,      // level 3
+				start + 3 * LEVEL_2 + 1     // level 3, several top slots ahead
+		);
+		for (Long deadline : deadlines) {
+			wheel.schedule("at-" + deadline, deadline, deadline);
+		}
+
+		List<Long> firedAt = new ArrayList<>();
+		long end = start + 3 * LEVEL_2 + 1;
+		for (long tick = start + 1; tick <= end; tick++) {
+			for (Long deadline : wheel.advance(tick)) {
+				assertThat(deadline).as("fired at tick %d", tick).isEqualTo(tick);
+				firedAt.add(tick);
+			}
+		}
+
+		assertThat(firedAt).containsExactlyElementsOf(deadlines);
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void overflowFiresAfterAFullTurn() {
+		long start = 12_345;
+		TimingWheel<String, String> wheel = new TimingWheel<>(start);
+		long nextTurn = start + ALL_LEVELS + 42;
+		long twoTurns = start + 2 * ALL_LEVELS + 7;
+		wheel.schedule("next-turn", nextTurn, "next-turn");
+		wheel.schedule("two-turns", twoTurns, "two-turns");
+
+		assertThat(wheel.advance(nextTurn - 1)).isEmpty();
+		assertThat(wheel.advance(nextTurn)).containsExactly("next-turn");
+		assertThat(wheel.advance(twoTurns - 1)).isEmpty();
+		assertThat(wheel.advance(twoTurns)).containsExactly("two-turns");
+		assertThat(wheel.size()).isZero();
+	}
+
+	@Test
+	void cancelledEntryNeverFires() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(0);
+		wheel.schedule("near", 10, "near");
+		wheel.schedule("far", LEVEL_1 + 3, "far");
+
+		assertThat(wheel.cancel("near")).isTrue();
+		assertThat(wheel.cancel("far")).isTrue();
+		assertThat(wheel.cancel("far")).isFalse();
+		assertThat(wheel.size()).isZero();
+		assertThat(wheel.advance(LEVEL_1 + 10)).isEmpty();
+	}
+
+	@Test
+	void rescheduleMovesTheEntry() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(0);
+		wheel.schedule("key", 10, "first");
+		wheel.schedule("key", LEVEL_0 + 10, "second");
+
+		assertThat(wheel.size()).isEqualTo(1);
+		assertThat(wheel.advance(LEVEL_0 + 9)).isEmpty();
+		assertThat(wheel.advance(LEVEL_0 + 10)).containsExactly("second");
+	}
+
+	@Test
+	void pastDeadlinesAreDueOnTheNextAdvance() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(100);
+		wheel.schedule("past", 40, "past");
+		wheel.schedule("now", 100, "now");
+
+		// Due even when the clock does not move
+		assertThat(wheel.advance(100)).containsExactly("past", "now");
+		assertThat(wheel.size()).isZero();
+		assertThat(wheel.getCurrentTick()).isEqualTo(100);
+	}
+
+	@Test
+	void sameTickFiresInSchedulingOrder() {
+		TimingWheel<String, String> wheel = new TimingWheel<>(0);
+		wheel.schedule("b", LEVEL_0 + 1, "b");
+		wheel.schedule("a", LEVEL_0 + 1, "a");
+		wheel.schedule("c", LEVEL_0 + 1, "c");
+
+		assertThat(wheel.advance(LEVEL_0 + 1)).containsExactly("b", "a", "c");
+	}
+
+}